@@ -0,0 +1,54 @@
+package benchmark;
+
+import actions.Action;
+import fileio.Input;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.List;
+
+/**
+ * Masoara fiecare tip de comanda
+ *
+ * Comenzile sunt generate din istoricul utilizatorilor, cate una pentru fiecare videoclip
+ * vizionat, asa ca fiecare comanda favorite si rating reuseste. Dupa ce toate comenzile
+ * au rulat, baza de date este reincarcata in afara masuratorii, pentru ca niciun apel sa
+ * nu ajunga pe ramura de eroare (videoclip deja favorit sau deja evaluat).
+ */
+public class CommandBenchmark extends DatabaseState {
+    /**
+     * Tipul comenzii
+     */
+    @Param({"view", "favorite", "rating"})
+    private String type;
+
+    private List<Action> commands;
+    private int next;
+
+    @Override
+    protected final void prepare(final Input input) {
+        commands = historyCommands(input, type);
+        next = 0;
+    }
+
+    /**
+     * Reincarca baza de date cand toate comenzile au rulat o data
+     */
+    @Setup(Level.Invocation)
+    public void reloadWhenExhausted() {
+        if (next == commands.size()) {
+            loadDatabase();
+        }
+    }
+
+    /**
+     * Ruleaza urmatoarea comanda
+     * @return Rezultatul comenzii
+     */
+    @Benchmark
+    public String runCommand() {
+        return commands.get(next++).runAction(getRepo());
+    }
+}
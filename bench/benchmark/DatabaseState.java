@@ -0,0 +1,116 @@
+package benchmark;
+
+import actions.Action;
+import common.Constants;
+import fileio.ActionInputData;
+import fileio.Input;
+import fileio.InputLoader;
+import fileio.SerialInputData;
+import fileio.UserInputData;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import repository.Repository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Starea comuna a benchmark-urilor: baza de date incarcata dintr-un fisier de test mare,
+ * marita de un numar de ori
+ *
+ * Baza de date este reincarcata inaintea fiecarei iteratii, pentru ca actiunile
+ * masurate sa nu depinda de comenzile rulate in iteratiile anterioare.
+ */
+@State(Scope.Benchmark)
+public abstract class DatabaseState {
+    /**
+     * Numarul fisierului large_test_no_*.json din care se incarca baza de date
+     */
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9"})
+    private int fixture;
+    /**
+     * De cate ori se mareste baza de date
+     */
+    @Param({"1", "10", "100", "1000"})
+    private int scale;
+
+    private Input fixtureInput;
+    private Repository repo;
+
+    /**
+     * Calea catre fisierul de test cu numarul dat
+     * @param number Numarul fisierului
+     * @return Calea catre fisier
+     */
+    public static String fixturePath(final int number) {
+        return Constants.TESTS_PATH + "large_test_no_" + number + ".json";
+    }
+
+    /**
+     * Citeste fisierul de test, o singura data pentru tot benchmark-ul
+     */
+    @Setup(Level.Trial)
+    public void readFixture() {
+        fixtureInput = new InputLoader(fixturePath(fixture)).readData();
+    }
+
+    /**
+     * Reincarca baza de date marita si pregateste actiunile masurate
+     */
+    @Setup(Level.Iteration)
+    public void loadDatabase() {
+        Input input = ScaledInput.scale(fixtureInput, scale);
+        repo = new Repository(input);
+        prepare(input);
+    }
+
+    /**
+     * Baza de date incarcata pentru iteratia curenta
+     * @return Baza de date
+     */
+    protected Repository getRepo() {
+        return repo;
+    }
+
+    /**
+     * Genereaza cate o comanda pentru fiecare videoclip din istoricul fiecarui utilizator,
+     * astfel incat fiecare comanda sa reuseasca o singura data dupa incarcarea bazei de
+     * date: comenzile favorite pentru videoclipurile deja favorite nu sunt generate, iar
+     * comenzile rating dau note diferite, primului sezon in cazul serialelor
+     * @param input Datele incarcate in baza de date
+     * @param type Tipul comenzii: view, favorite sau rating
+     * @return Comenzile
+     */
+    protected static List<Action> historyCommands(final Input input, final String type) {
+        final int grades = 10;
+        Set<String> serialTitles = new HashSet<>();
+        for (SerialInputData serial : input.getSerials()) {
+            serialTitles.add(serial.getTitle());
+        }
+
+        List<Action> commands = new ArrayList<>();
+        for (UserInputData user : input.getUsers()) {
+            for (String title : user.getHistory().keySet()) {
+                if (Constants.FAVORITE.equals(type) && user.getFavoriteMovies().contains(title)) {
+                    continue;
+                }
+                int season = serialTitles.contains(title) ? 1 : 0;
+                double grade = 1 + commands.size() % grades;
+                commands.add(Repository.createAction(new ActionInputData(commands.size() + 1,
+                        Constants.COMMAND, type, user.getUsername(), title, grade, season)));
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Pregateste actiunile care vor fi masurate, dupa ce baza de date a fost incarcata
+     * @param input Datele incarcate in baza de date
+     */
+    protected abstract void prepare(Input input);
+}
@@ -0,0 +1,58 @@
+package benchmark;
+
+import main.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Masoara rularea completa a unui fisier de test asa cum o face Main.action: citire,
+ * initializare, rularea actiunilor si scrierea rezultatelor
+ */
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+    /**
+     * Numarul fisierului large_test_no_*.json
+     */
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9"})
+    private int fixture;
+
+    private String input;
+    private File output;
+
+    /**
+     * Pregateste fisierul de iesire
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = new File(DatabaseState.fixturePath(fixture)).getAbsolutePath();
+        output = File.createTempFile("videos-db-bench", ".json");
+    }
+
+    /**
+     * Sterge fisierul de iesire
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (!output.delete()) {
+            output.deleteOnExit();
+        }
+    }
+
+    /**
+     * Ruleaza Main.action pe fisierul de test
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    @Benchmark
+    public void mainAction() throws IOException {
+        Main.action(input, output.getAbsolutePath());
+    }
+}
@@ -0,0 +1,89 @@
+package benchmark;
+
+import actions.Action;
+import common.Constants;
+import fileio.ActionInputData;
+import fileio.Input;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import repository.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Masoara fiecare criteriu de query, pe actori, filme, seriale si utilizatori
+ *
+ * Se ruleaza query-urile de acel tip din fisierul de test; daca fisierul nu are niciunul,
+ * se foloseste un query fara filtre. Fisierele de test nu contin rating-uri, de aceea
+ * inaintea query-urilor fiecare utilizator da rating fiecarui videoclip vizionat, pentru
+ * ca query-urile dupa rating sa aiba ce sorta.
+ *
+ * Rezultatele query-urilor sunt retinute de QueryCache, iar intre query-uri nu ruleaza
+ * nicio comanda, de aceea cache-ul este golit inaintea fiecarui apel, altfel s-ar masura
+ * doar cautarea in cache.
+ */
+public class QueryBenchmark extends DatabaseState {
+    /**
+     * Tipul obiectului si criteriul query-ului, separate prin '/'
+     */
+    @Param({"actors/average", "actors/awards", "actors/filter_description",
+            "movies/ratings", "movies/favorite", "movies/longest", "movies/most_viewed",
+            "shows/ratings", "shows/favorite", "shows/longest", "shows/most_viewed",
+            "users/num_ratings"})
+    private String query;
+
+    private List<Action> queries;
+    private int next;
+
+    @Override
+    protected final void prepare(final Input input) {
+        for (Action rating : historyCommands(input, Constants.RATING)) {
+            rating.runAction(getRepo());
+        }
+
+        String[] parts = query.split("/");
+        String objectType = parts[0];
+        String criteria = parts[1];
+
+        queries = new ArrayList<>();
+        for (ActionInputData action : input.getCommands()) {
+            if (Constants.QUERY.equals(action.getActionType())
+                    && objectType.equals(action.getObjectType())
+                    && criteria.equals(action.getCriteria())) {
+                queries.add(Repository.createAction(action));
+            }
+        }
+        if (queries.isEmpty()) {
+            List<String> words = null;
+            if (Constants.FILTER_DESCRIPTIONS.equals(criteria)) {
+                words = new ArrayList<>(Collections.singletonList("actor"));
+            }
+            queries.add(Repository.createAction(new ActionInputData(1, Constants.QUERY,
+                    objectType, null, Constants.DESCENDING, criteria, null, 0, words, null)));
+        }
+        next = 0;
+    }
+
+    /**
+     * Goleste cache-ul de query-uri, pentru ca fiecare apel sa ruleze query-ul
+     */
+    @Setup(Level.Invocation)
+    public void clearQueryCache() {
+        getRepo().getQueryCache().clear();
+    }
+
+    /**
+     * Ruleaza urmatorul query
+     * @return Rezultatul query-ului
+     */
+    @Benchmark
+    public String runQuery() {
+        Action action = queries.get(next);
+        next = (next + 1) % queries.size();
+        return action.runAction(getRepo());
+    }
+}
@@ -0,0 +1,63 @@
+package benchmark;
+
+import actions.Action;
+import common.Constants;
+import fileio.Input;
+import fileio.MovieInputData;
+import fileio.UserInputData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import repository.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Masoara fiecare tip de recomandare, cerut pe rand pentru fiecare utilizator premium
+ *
+ * Recomandarea Search se cere pentru genurile filmelor din baza de date, pe rand.
+ */
+public class RecommendationBenchmark extends DatabaseState {
+    /**
+     * Tipul recomandarii
+     */
+    @Param({"standard", "best_unseen", "popular", "favorite", "search"})
+    private String type;
+
+    private List<Action> recommendations;
+    private int next;
+
+    @Override
+    protected final void prepare(final Input input) {
+        List<String> genres = new ArrayList<>();
+        for (MovieInputData movie : input.getMovies()) {
+            for (String genre : movie.getGenres()) {
+                if (!genres.contains(genre)) {
+                    genres.add(genre);
+                }
+            }
+        }
+
+        recommendations = new ArrayList<>();
+        for (UserInputData user : input.getUsers()) {
+            if (!Constants.USER_PREMIUM.equals(user.getSubscriptionType())) {
+                continue;
+            }
+            String genre = genres.get(recommendations.size() % genres.size());
+            recommendations.add(Repository.createAction(ScaledInput.recommendationInput(
+                    recommendations.size() + 1, type, user.getUsername(), genre)));
+        }
+        next = 0;
+    }
+
+    /**
+     * Ruleaza urmatoarea recomandare
+     * @return Rezultatul recomandarii
+     */
+    @Benchmark
+    public String runRecommendation() {
+        Action action = recommendations.get(next);
+        next = (next + 1) % recommendations.size();
+        return action.runAction(getRepo());
+    }
+}
@@ -0,0 +1,160 @@
+package benchmark;
+
+import common.Constants;
+import fileio.ActionInputData;
+import fileio.ActorInputData;
+import fileio.Input;
+import fileio.InputLoader;
+import fileio.MovieInputData;
+import fileio.SerialInputData;
+import fileio.UserInputData;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mareste un fisier de test de un numar de ori, pentru benchmark-uri
+ *
+ * Fiecare copie a bazei de date primeste un sufix " #k" la numele actorilor, utilizatorilor
+ * si la titlurile videoclipurilor, iar referintele dintre ele (istoric, favorite,
+ * filmografie, distributie, actiuni) raman in interiorul aceleiasi copii. Copia 0 este
+ * identica cu fisierul original. Actiunile copiilor sunt puse una dupa alta si renumerotate.
+ */
+public final class ScaledInput {
+    /**
+     * for coding style
+     */
+    private ScaledInput() {
+    }
+
+    /**
+     * Construieste baza de date marita
+     * @param input Datele citite din fisierul de test
+     * @param factor De cate ori se copiaza baza de date
+     * @return Datele marite, cu obiecte noi, care pot fi incarcate in baza de date
+     */
+    public static Input scale(final Input input, final int factor) {
+        List<ActorInputData> actors = new ArrayList<>();
+        List<UserInputData> users = new ArrayList<>();
+        List<MovieInputData> movies = new ArrayList<>();
+        List<SerialInputData> serials = new ArrayList<>();
+        List<ActionInputData> actions = new ArrayList<>();
+
+        for (int copy = 0; copy < factor; copy++) {
+            String suffix = suffix(copy);
+            for (ActorInputData actor : input.getActors()) {
+                actors.add(new ActorInputData(actor.getName() + suffix,
+                        actor.getCareerDescription(), rename(actor.getFilmography(), suffix),
+                        new LinkedHashMap<>(actor.getAwards())));
+            }
+            for (UserInputData user : input.getUsers()) {
+                Map<String, Integer> history = new LinkedHashMap<>();
+                for (Map.Entry<String, Integer> entry : user.getHistory().entrySet()) {
+                    history.put(entry.getKey() + suffix, entry.getValue());
+                }
+                users.add(new UserInputData(user.getUsername() + suffix,
+                        user.getSubscriptionType(), history,
+                        rename(user.getFavoriteMovies(), suffix)));
+            }
+            for (MovieInputData movie : input.getMovies()) {
+                movies.add(new MovieInputData(movie.getTitle() + suffix,
+                        rename(movie.getCast(), suffix), new ArrayList<>(movie.getGenres()),
+                        movie.getYear(), movie.getDuration()));
+            }
+            for (SerialInputData serial : input.getSerials()) {
+                serials.add(new SerialInputData(serial.getTitle() + suffix,
+                        rename(serial.getCast(), suffix), new ArrayList<>(serial.getGenres()),
+                        serial.getNumberSeason(), new ArrayList<>(serial.getSeasons()),
+                        serial.getYear()));
+            }
+            for (ActionInputData action : input.getCommands()) {
+                actions.add(renameAction(action, actions.size() + 1, suffix));
+            }
+        }
+
+        return new Input(actors, users, actions, movies, serials);
+    }
+
+    /**
+     * Sufixul adaugat numelor din copia data
+     * @param copy Numarul copiei
+     * @return Sufixul, gol pentru copia 0
+     */
+    public static String suffix(final int copy) {
+        if (copy == 0) {
+            return "";
+        }
+        return " #" + copy;
+    }
+
+    /**
+     * Construieste datele unei recomandari, citite ca dintr-un fisier de intrare
+     *
+     * Constructorul datelor unei recomandari nu este public, de aceea recomandarea este
+     * scrisa intr-un obiect JSON si citita cu InputLoader, ca actiunile din fisierele de test.
+     *
+     * @param id Id-ul actiunii
+     * @param type Tipul recomandarii
+     * @param username Utilizatorul care cere recomandarea
+     * @param genre Genul cerut, null pentru recomandarile fara gen
+     * @return Datele recomandarii
+     */
+    @SuppressWarnings("unchecked")
+    public static ActionInputData recommendationInput(final int id, final String type,
+                                                      final String username,
+                                                      final String genre) {
+        JSONObject action = new JSONObject();
+        action.put(Constants.ID, id);
+        action.put(Constants.ACTION_TYPE, Constants.RECOMMENDATION);
+        action.put(Constants.TYPE, type);
+        action.put(Constants.USERNAME, username);
+        action.put(Constants.GENRE, genre);
+        JSONArray actions = new JSONArray();
+        actions.add(action);
+        JSONObject file = new JSONObject();
+        file.put(Constants.ACTIONS, actions);
+        return new InputLoader(null).readActions(file, 0).get(0);
+    }
+
+    private static ArrayList<String> rename(final List<String> names, final String suffix) {
+        if (names == null) {
+            return null;
+        }
+        ArrayList<String> renamed = new ArrayList<>(names.size());
+        for (String name : names) {
+            renamed.add(name + suffix);
+        }
+        return renamed;
+    }
+
+    private static String renameOrNull(final String name, final String suffix) {
+        if (name == null) {
+            return null;
+        }
+        return name + suffix;
+    }
+
+    private static ActionInputData renameAction(final ActionInputData action, final int id,
+                                                final String suffix) {
+        final int wordsPosition = 2;
+        final int awardsPosition = 3;
+        return switch (action.getActionType()) {
+            case Constants.COMMAND -> new ActionInputData(id, action.getActionType(),
+                    action.getType(), renameOrNull(action.getUsername(), suffix),
+                    renameOrNull(action.getTitle(), suffix), action.getGrade(),
+                    action.getSeasonNumber());
+            case Constants.QUERY -> new ActionInputData(id, action.getActionType(),
+                    action.getObjectType(), action.getFilters().get(1).get(0),
+                    action.getSortType(), action.getCriteria(),
+                    action.getFilters().get(0).get(0), action.getNumber(),
+                    action.getFilters().get(wordsPosition),
+                    action.getFilters().get(awardsPosition));
+            default -> recommendationInput(id, action.getType(),
+                    renameOrNull(action.getUsername(), suffix), action.getGenre());
+        };
+    }
+}
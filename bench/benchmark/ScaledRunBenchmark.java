@@ -0,0 +1,52 @@
+package benchmark;
+
+import fileio.Input;
+import fileio.InputLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import repository.Repository;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Masoara initializarea bazei de date marite si rularea tuturor actiunilor ei, fara
+ * citirea si scrierea fisierelor
+ */
+@State(Scope.Benchmark)
+public class ScaledRunBenchmark {
+    /**
+     * Numarul fisierului large_test_no_*.json
+     */
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9"})
+    private int fixture;
+    /**
+     * De cate ori se mareste baza de date
+     */
+    @Param({"1", "10", "100", "1000"})
+    private int scale;
+
+    private Input fixtureInput;
+
+    /**
+     * Citeste fisierul de test, o singura data pentru tot benchmark-ul
+     */
+    @Setup(Level.Trial)
+    public void readFixture() {
+        fixtureInput = new InputLoader(DatabaseState.fixturePath(fixture)).readData();
+    }
+
+    /**
+     * Incarca baza de date marita si ruleaza toate actiunile
+     * @return Rezultatele actiunilor
+     * @throws IOException daca rularea actiunilor a fost intrerupta
+     */
+    @Benchmark
+    public List<String> runActions() throws IOException {
+        return new Repository(ScaledInput.scale(fixtureInput, scale)).runActions();
+    }
+}
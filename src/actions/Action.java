@@ -1,6 +1,7 @@
 package actions;
 
 import fileio.ActionInputData;
+import repository.Repository;
 
 /**
  * Clasa abstracta care reprezinta o actiune
@@ -23,7 +24,17 @@ public abstract class Action {
     /**
      * Metoda care ruleaza actiunea asupra bazei de date si
      * intoarce rezultatul actiunii sub forma de String
+     * @param repo Baza de date asupra careia se ruleaza actiunea
      * @return Rezultatul actiunii
      */
-    public abstract String runAction();
+    public abstract String runAction(Repository repo);
+
+    /**
+     * Verifica daca actiunea doar citeste baza de date, caz in care poate rula in
+     * paralel cu alte actiuni care doar citesc
+     * @return True daca actiunea nu modifica baza de date
+     */
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -3,6 +3,7 @@ package actions;
 import entertainment.Movie;
 import entertainment.Serial;
 import fileio.ActionInputData;
+import repository.QueryCache;
 import repository.Repository;
 import user.User;
 
@@ -40,10 +41,10 @@ public final class Command extends Action {
 
     /**
      * Implementeaza comanda de favorite
+     * @param repo Baza de date
      * @return Rezultatul comenzii
      */
-    private String favorite() {
-        Repository repo = Repository.getRepo();
+    private String favorite(final Repository repo) {
         User user = repo.getUser(username);
         String result = "";
 
@@ -60,6 +61,8 @@ public final class Command extends Action {
                 result += Constants.IS_ALREADY_IN_FAVORITE_LIST;
             }
         } else {
+            repo.addFavorite(videoTitle);
+            repo.getQueryCache().invalidate(QueryCache.Data.FAVORITES);
             result = Constants.SUCCESS +  " -> " + videoTitle + " "
                     + Constants.WAS_ADDED_AS_A_FAVORITE;
         }
@@ -68,10 +71,10 @@ public final class Command extends Action {
 
     /**
      * Implementeaza comanda de view
+     * @param repo Baza de date
      * @return Rezultatul comenzii
      */
-    private String view() {
-        Repository repo = Repository.getRepo();
+    private String view(final Repository repo) {
         User user = repo.getUser(username);
         String result = "";
 
@@ -79,18 +82,23 @@ public final class Command extends Action {
             return result;
         }
 
+        int userViews = user.view(videoTitle);
+        repo.addView(videoTitle);
+        repo.advanceFirstUnseen(user);
+        repo.getQueryCache().invalidate(QueryCache.Data.VIEWS);
+
         result = Constants.SUCCESS + " -> " + videoTitle + " "
                     + Constants.WAS_VIEWED_WITH_TOTAL_VIEWS_OF + " "
-                    + user.view(videoTitle);
+                    + userViews;
         return  result;
     }
 
     /**
      * Implementeaza comanda de rating
+     * @param repo Baza de date
      * @return Rezultatul comenzii
      */
-    private String rating() {
-        Repository repo = Repository.getRepo();
+    private String rating(final Repository repo) {
         User user = repo.getUser(username);
         String result = "";
 
@@ -107,10 +115,12 @@ public final class Command extends Action {
                 }
             } else {
                 // A fost dat rate cu succes
+                repo.getQueryCache().invalidate(QueryCache.Data.RATINGS);
                 result = Constants.SUCCESS + " -> " + videoTitle + " " + Constants.WAS_RATED_WITH
                             + " " + grade + " " + Constants.BY + " " + username;
                 Movie movie = repo.getMovie(videoTitle);
                 movie.rateMovie(grade);
+                repo.updateVideoRating(movie);
             }
         } else {
             // Daca este serial
@@ -124,7 +134,9 @@ public final class Command extends Action {
                     result += Constants.HAS_BEEN_ALREADY_RATED;
                 }
             } else {
-                // S-a dat rate cu succes
+                // S-a dat rate cu succes, chiar si la un sezon gresit utilizatorul
+                // are un rating in plus
+                repo.getQueryCache().invalidate(QueryCache.Data.RATINGS);
                 result = Constants.SUCCESS + " -> " + videoTitle + " " + Constants.WAS_RATED_WITH
                             + " " + grade + " " + Constants.BY + " " + username;
                 Serial serial = repo.getSerial(videoTitle);
@@ -133,6 +145,7 @@ public final class Command extends Action {
                     result = Constants.ERROR + " -> " + Constants.SEASON_OUT_OF_BOUNDS;
                     return result;
                 }
+                repo.updateVideoRating(serial);
             }
         }
         return result;
@@ -142,12 +155,21 @@ public final class Command extends Action {
      * {@inheritDoc}
      */
     @Override
-    public String runAction() {
+    public String runAction(final Repository repo) {
         return switch (type) {
-            case Constants.VIEW -> view();
-            case Constants.FAVORITE -> favorite();
-            case Constants.RATING -> rating();
+            case Constants.VIEW -> view(repo);
+            case Constants.FAVORITE -> favorite(repo);
+            case Constants.RATING -> rating(repo);
             default -> Constants.OPERATION_NOT_DEFINED + getClass();
         };
     }
+
+    /**
+     * Comenzile modifica utilizatorii, videoclipurile si indecsii bazei de date
+     * @return False
+     */
+    @Override
+    public boolean isReadOnly() {
+        return false;
+    }
 }
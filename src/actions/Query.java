@@ -1,8 +1,13 @@
 package actions;
 
 import fileio.ActionInputData;
+import repository.QueryCache;
+import repository.Repository;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Clasa abstracta care reprezinta un query si mosteneste clasa Action
@@ -28,6 +33,12 @@ public abstract class Query extends Action {
     protected final int year;
     protected final String genre;
 
+    /**
+     * Parametrii query-ului, dupa care se cauta rezultatul in QueryCache; doua query-uri
+     * cu aceeasi cheie au acelasi rezultat cat timp datele de care depind nu se schimba
+     */
+    private final List<Object> cacheKey;
+
     public Query(final ActionInputData input) {
         super(input);
 
@@ -38,6 +49,25 @@ public abstract class Query extends Action {
 
         year = getYearFromFilters();
         genre = getGenreFromFilters();
+
+        // Lista permite valori null, iar doua chei sunt egale doar daca fiecare parametru
+        // este egal, spre deosebire de un sir construit prin concatenare
+        cacheKey = Arrays.asList(input.getObjectType(), criteria, sortType, number, year,
+                genre, copyFilters(filters.subList(2, filters.size())));
+    }
+
+    /**
+     * Copiaza filtrele pentru cheia din QueryCache, pentru ca modificarea listelor
+     * primite sa nu schimbe cheia
+     * @param source Filtrele
+     * @return O copie a filtrelor
+     */
+    private static List<List<String>> copyFilters(final List<List<String>> source) {
+        List<List<String>> copy = new ArrayList<>();
+        for (List<String> filter : source) {
+            copy.add(filter == null ? null : new ArrayList<>(filter));
+        }
+        return copy;
     }
 
     /**
@@ -69,8 +99,26 @@ public abstract class Query extends Action {
     }
 
     /**
-     * {@inheritDoc}
+     * Ruleaza query-ul, sau refoloseaza rezultatul unui query identic daca datele de care
+     * depinde nu s-au schimbat intre timp
+     * @param repo Baza de date asupra careia se ruleaza actiunea
+     * @return Rezultatul query-ului
      */
     @Override
-    public abstract String runAction();
+    public final String runAction(final Repository repo) {
+        return repo.getQueryCache().get(cacheKey, dependencies(), () -> runQuery(repo));
+    }
+
+    /**
+     * Ruleaza efectiv query-ul asupra bazei de date
+     * @param repo Baza de date
+     * @return Rezultatul query-ului
+     */
+    protected abstract String runQuery(Repository repo);
+
+    /**
+     * Datele modificabile de comenzi de care depinde rezultatul query-ului
+     * @return Categoriile de date
+     */
+    protected abstract Set<QueryCache.Data> dependencies();
 }
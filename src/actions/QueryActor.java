@@ -3,15 +3,14 @@ package actions;
 import actor.Actor;
 import common.Constants;
 import fileio.ActionInputData;
+import repository.QueryCache;
 import repository.Repository;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Collections;
-import java.util.function.Predicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -52,16 +51,15 @@ public final class QueryActor extends Query {
 
     /**
      * Implementeaza query-ul de tip Average
+     * @param repo Baza de date
      * @return Rezultatul query-ului
      */
-    private String average() {
+    private String average(final Repository repo) {
         StringBuilder result = new StringBuilder(Constants.QUERY_RESULT + ": [");
-        Repository repo = Repository.getRepo();
         List<Actor> orderedActors = new ArrayList<>(repo.getActors());
 
-        // Se calculeaza intai toate rating-urile pentru fiecare actor
-        // Baza de date se actualizeaza in permanenta, de aceea, calculul se face abia acum
-        repo.calcActorRatings();
+        // Rating-urile actorilor sunt tinute la zi de baza de date, la fiecare
+        // rating dat unui videoclip se recalculeaza actorii care au jucat in el
 
         // Se elimina actorii care au rating 0, practic actorii a caror
         // filmografie nu apare in baza de date, sau a caror filme nu au primit rating
@@ -69,8 +67,8 @@ public final class QueryActor extends Query {
                 .filter(actor -> actor.getRating() != 0)
                 .collect(Collectors.toList());
 
-        // Se sorteaza dupa rating
-        orderedActors.sort(new Comparator<>() {
+        // Se opresc primii n actori dupa rating, in ordinea ceruta
+        orderedActors = TopN.select(orderedActors, new Comparator<Actor>() {
             @Override
             public int compare(final Actor o1, final Actor o2) {
                 int diff = Double.compare(o1.getRating(), o2.getRating());
@@ -79,19 +77,7 @@ public final class QueryActor extends Query {
                 }
                 return diff;
             }
-        });
-
-        // Se inverseaza
-        if (sortType.equals(Constants.DESCENDING)) {
-            Collections.reverse(orderedActors);
-        }
-
-        // Se opresc primii n actori
-        if (number != 0) {
-            orderedActors = orderedActors.stream()
-                    .limit(number)
-                    .collect(Collectors.toList());
-        }
+        }, sortType.equals(Constants.DESCENDING), number);
 
         // Si se scriu
         int i = 0;
@@ -109,11 +95,11 @@ public final class QueryActor extends Query {
 
     /**
      * Query-ul de tip Awards asupra unor actori
+     * @param repo Baza de date
      * @return Rezultatul query-ului
      */
-    private String awards() {
+    private String awards(final Repository repo) {
         StringBuilder result = new StringBuilder(Constants.QUERY_RESULT + ": [");
-        Repository repo = Repository.getRepo();
         List<Actor> orderedActors = new ArrayList<>(repo.getActors());
 
         // Pastrez doar actorii care au premiile specificate, daca nu se specifica
@@ -124,8 +110,8 @@ public final class QueryActor extends Query {
                     .collect(Collectors.toList());
         }
 
-        // Ii sortez pe baza de premii si nume
-        orderedActors.sort(new Comparator<>() {
+        // Se extrag doar primii n actori pe baza de premii si nume
+        orderedActors = TopN.select(orderedActors, new Comparator<Actor>() {
             @Override
             public int compare(final Actor o1, final Actor o2) {
                 int diff = o1.totalAwards() - o2.totalAwards();
@@ -134,19 +120,7 @@ public final class QueryActor extends Query {
                 }
                 return diff;
             }
-        });
-
-        // Se inverseaza lista daca se cere
-        if (sortType.equals(Constants.DESCENDING)) {
-            Collections.reverse(orderedActors);
-        }
-
-        // Se extrag doar primii n actori
-        if (number != 0) {
-            orderedActors = orderedActors.stream()
-                    .limit(number)
-                    .collect(Collectors.toList());
-        }
+        }, sortType.equals(Constants.DESCENDING), number);
 
         int i = 0;
         for (Actor actor : orderedActors) {
@@ -163,57 +137,27 @@ public final class QueryActor extends Query {
 
     /**
      * Query-ul de tip Filter Description
+     * @param repo Baza de date
      * @return Rezultatul query-ului
      */
-    private String filterDescription() {
+    private String filterDescription(final Repository repo) {
         StringBuilder result = new StringBuilder(Constants.QUERY_RESULT + ": [");
-        Repository repo = Repository.getRepo();
         List<Actor> orderedActors = new ArrayList<>(repo.getActors());
 
         // Se pastreaza doar actorii care au cuvintele specificate
+        // Pentru acest tip de query se cauta actorii care au toate cuvintele specificate
+        // in descriere, ca si cuvinte intregi, folosind indexul de cuvinte al bazei de date
         if (words != null) {
-            orderedActors = orderedActors.stream().filter(new Predicate<Actor>() {
-                @Override
-                public boolean test(final Actor actor) {
-                    for (String word : words) {
-                        // Pentru acest tip de query se cauta actorii care
-                        // au totate cuvintele specificate in descriere
-                        // Este nevoie de un regex pentru ca cautarea
-                        // de de subsiruri ar duce la rezultate incorecte
-                        // "\\b" reprezinta "word boundary", adica inceputul si
-                        // sfarsitul unui cuvant
-                        String regex = "\\b" + word + "\\b";
-                        String lowerCaseDescription = actor.getCareerDescription().toLowerCase();
-                        Pattern pattern = Pattern.compile(regex);
-                        Matcher matcher = pattern.matcher(lowerCaseDescription);
-                        if (!matcher.find()) {
-                            return false;
-                        }
-                    }
-                    return true;
-                }
-            }).collect(Collectors.toList());
+            orderedActors = repo.getActorsWithDescriptionWords(words);
         }
 
-        // Se sorteaza alfabetic
-        orderedActors.sort(new Comparator<Actor>() {
+        // Se extrag primii n actori in ordine alfabetica
+        orderedActors = TopN.select(orderedActors, new Comparator<Actor>() {
             @Override
             public int compare(final Actor o1, final Actor o2) {
                 return o1.getName().compareTo(o2.getName());
             }
-        });
-
-        // Se inverseaza daca se cere
-        if (sortType.equals(Constants.DESCENDING)) {
-            Collections.reverse(orderedActors);
-        }
-
-        // Se extrag primii n actori
-        if (number != 0) {
-            orderedActors = orderedActors.stream()
-                    .limit(number)
-                    .collect(Collectors.toList());
-        }
+        }, sortType.equals(Constants.DESCENDING), number);
 
         int i = 0;
         for (Actor actor : orderedActors) {
@@ -232,12 +176,25 @@ public final class QueryActor extends Query {
      * {@inheritDoc}
      */
     @Override
-    public String runAction() {
+    protected String runQuery(final Repository repo) {
         return switch (criteria) {
-            case Constants.AVERAGE -> average();
-            case Constants.AWARDS -> awards();
-            case Constants.FILTER_DESCRIPTIONS -> filterDescription();
+            case Constants.AVERAGE -> average(repo);
+            case Constants.AWARDS -> awards(repo);
+            case Constants.FILTER_DESCRIPTIONS -> filterDescription(repo);
             default -> Constants.OPERATION_NOT_DEFINED + getClass();
         };
     }
+
+    /**
+     * Rating-urile actorilor depind de rating-urile videoclipurilor, premiile si descrierea
+     * nu se schimba
+     * @return Categoriile de date
+     */
+    @Override
+    protected Set<QueryCache.Data> dependencies() {
+        if (criteria.equals(Constants.AVERAGE)) {
+            return EnumSet.of(QueryCache.Data.RATINGS);
+        }
+        return EnumSet.noneOf(QueryCache.Data.class);
+    }
 }
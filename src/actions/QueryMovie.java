@@ -1,11 +1,8 @@
 package actions;
 
-import entertainment.Video;
 import fileio.ActionInputData;
 import repository.Repository;
-
-import java.util.ArrayList;
-import java.util.List;
+import repository.VideoCatalog;
 
 public final class QueryMovie extends QueryVideo {
     public QueryMovie(final ActionInputData actionInput) {
@@ -13,15 +10,15 @@ public final class QueryMovie extends QueryVideo {
     }
 
     /**
-     * Metoda care intoarce lista de filme din baza de date
+     * Metoda care intoarce catalogul filmelor din baza de date
      *
      * Rularea efectiva a query-urilor se face in QueryVideo deoarece query-urile sunt identice
      * si pentru seriale
-     * @return Lista de filme din baza de date
+     * @param repo Baza de date
+     * @return Catalogul filmelor din baza de date
      */
     @Override
-    protected List<Video> getVideoList() {
-        Repository repo = Repository.getRepo();
-        return new ArrayList<>(repo.getMovies());
+    protected VideoCatalog getCatalog(final Repository repo) {
+        return repo.getMovieCatalog();
     }
 }
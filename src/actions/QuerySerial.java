@@ -1,11 +1,8 @@
 package actions;
 
-import entertainment.Video;
 import fileio.ActionInputData;
 import repository.Repository;
-
-import java.util.ArrayList;
-import java.util.List;
+import repository.VideoCatalog;
 
 public final class QuerySerial extends QueryVideo {
     public QuerySerial(final ActionInputData actionInput) {
@@ -13,15 +10,15 @@ public final class QuerySerial extends QueryVideo {
     }
 
     /**
-     * Metoda care intoarce lista de seriale din baza de date
+     * Metoda care intoarce catalogul serialelor din baza de date
      *
      * Rularea efectiva a query-urilor se face in QueryVideo deoarece query-urile sunt identice
      * si pentru filme
-     * @return Lista de seriale din baza de date
+     * @param repo Baza de date
+     * @return Catalogul serialelor din baza de date
      */
     @Override
-    protected List<Video> getVideoList() {
-        Repository repo = Repository.getRepo();
-        return new ArrayList<>(repo.getSerials());
+    protected VideoCatalog getCatalog(final Repository repo) {
+        return repo.getSerialCatalog();
     }
 }
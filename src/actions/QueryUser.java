@@ -2,12 +2,14 @@ package actions;
 
 import common.Constants;
 import fileio.ActionInputData;
+import repository.QueryCache;
 import repository.Repository;
 import user.User;
 
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -20,11 +22,11 @@ public final class QueryUser extends Query {
 
     /**
      * Implementeaza query-ul de tip Number of Ratings asupra utilizatorilor
+     * @param repo Baza de date
      * @return Rezultatul query-ului
      */
-    public String numRatings() {
+    public String numRatings(final Repository repo) {
         StringBuilder result = new StringBuilder(Constants.QUERY_RESULT + ": [");
-        Repository repo = Repository.getRepo();
         List<User> orderedUsers = repo.getUsers();
 
         // Se elimina utilizatorii care nu au dat rating-uri
@@ -32,8 +34,8 @@ public final class QueryUser extends Query {
                 .filter(user -> user.getTotalRatings() != 0)
                 .collect(Collectors.toList());
 
-        // Se sorteaza utilizatorii care raman
-        orderedUsers.sort(new Comparator<User>() {
+        // Se pastreaza primii n utilizatori dintre cei care raman, in ordinea ceruta
+        orderedUsers = TopN.select(orderedUsers, new Comparator<User>() {
             @Override
             public int compare(final User o1, final User o2) {
                 int diff = o1.getTotalRatings() - o2.getTotalRatings();
@@ -42,19 +44,7 @@ public final class QueryUser extends Query {
                 }
                 return diff;
             }
-        });
-
-        // Se inverseaza ordinea daca se cere
-        if (sortType.equals(Constants.DESCENDING)) {
-            Collections.reverse(orderedUsers);
-        }
-
-        // Se pastreaza primii n utilizatori daca se vrea
-        if (number != 0) {
-            orderedUsers = orderedUsers.stream()
-                    .limit(number)
-                    .collect(Collectors.toList());
-        }
+        }, sortType.equals(Constants.DESCENDING), number);
 
         // Se scrie rezultatul
         int i = 0;
@@ -73,11 +63,19 @@ public final class QueryUser extends Query {
      * {@inheritDoc}
      */
     @Override
-    public String runAction() {
+    protected String runQuery(final Repository repo) {
         return switch (criteria) {
-            case Constants.NUM_RATINGS -> numRatings();
+            case Constants.NUM_RATINGS -> numRatings(repo);
             default -> Constants.OPERATION_NOT_DEFINED + getClass();
         };
     }
-}
 
+    /**
+     * Numarul de rating-uri se schimba doar la comanda rating
+     * @return Categoriile de date
+     */
+    @Override
+    protected Set<QueryCache.Data> dependencies() {
+        return EnumSet.of(QueryCache.Data.RATINGS);
+    }
+}
@@ -1,13 +1,18 @@
 package actions;
 
+import entertainment.GenreMask;
 import fileio.ActionInputData;
+import repository.QueryCache;
 import repository.Repository;
-import entertainment.Video;
+import repository.VideoCatalog;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.IntToDoubleFunction;
 
 import common.Constants;
 
@@ -21,76 +26,51 @@ import common.Constants;
  */
 public abstract class QueryVideo extends Query {
     /**
-     * Intoarce o lista formata din toate videoclipurile din baza de date
+     * Intoarce catalogul pe coloane al videoclipurilor din baza de date
      *
      * Prin toate videoclipurile se intelege acele videoclipuri care fac parte din tipul pe care
-     * query-ul efectueaza actiunea, adica, clasele care mostenesc trebuie sa intoarca lista de
-     * filme sau lista de seriale din baza de date
+     * query-ul efectueaza actiunea, adica, clasele care mostenesc trebuie sa intoarca catalogul
+     * filmelor sau catalogul serialelor din baza de date
      *
-     * @return Lista de videoclipuri
+     * @param repo Baza de date
+     * @return Catalogul videoclipurilor
      */
-    protected abstract List<Video> getVideoList();
+    protected abstract VideoCatalog getCatalog(Repository repo);
 
     public QueryVideo(final ActionInputData actionInput) {
         super(actionInput);
     }
 
     /**
-     * Ruleaza query-ul de rating, asa cum este descris in tema
-     * @return Rezultatul query-ului
+     * Pozitiile din catalog ale videoclipurilor care trec de filtrele de an si gen si
+     * care au o valoare nenula pentru criteriul query-ului
+     * @param catalog Catalogul
+     * @param value Valoarea criteriului pentru o pozitie din catalog
+     * @return Pozitiile, in ordinea din baza de date
      */
-    private String rating() {
-        StringBuilder result = new StringBuilder(Constants.QUERY_RESULT + ": [");
-        List<Video> orderedVideos = getVideoList();
-
-        // Se elimina videoclipurile care au rating 0
-        orderedVideos = orderedVideos.stream()
-                .filter(video -> video.ratingsAverage() != 0)
-                .collect(Collectors.toList());
-
-        // Se elimina videoclipurile care nu au genul corespunzator
-        if (genre != null) {
-            orderedVideos = orderedVideos.stream()
-                    .filter(video -> video.getGenres().contains(genre))
-                    .collect(Collectors.toList());
-        }
-
-        // se elimina videoclipurile care nu au anul corespunzator
-        if (year > 0) {
-            orderedVideos = orderedVideos.stream()
-                    .filter(video -> video.getYear() == year)
-                    .collect(Collectors.toList());
-        }
-
-        // Se sorteaza videoclipurile
-        orderedVideos.sort(new Comparator<Video>() {
-            @Override
-            public int compare(final Video o1, final Video o2) {
-                int diff = (int) Math.floor(o1.ratingsAverage() - o2.ratingsAverage());
-                if (diff == 0) {
-                    return o1.getTitle().compareTo(o2.getTitle());
-                }
-                return diff;
+    private List<Integer> selectNonZero(final VideoCatalog catalog,
+                                        final IntToDoubleFunction value) {
+        List<Integer> selected = new ArrayList<>();
+        for (int index : catalog.select(year, genre)) {
+            if (value.applyAsDouble(index) != 0) {
+                selected.add(index);
             }
-        });
-
-        // Se inverseaza ordinea daca se cere
-        if (sortType.equals(Constants.DESCENDING)) {
-            Collections.reverse(orderedVideos);
-        }
-
-        // Daca se cere se extrag doar primele n videoclipuri
-        if (number != 0) {
-            orderedVideos = orderedVideos.stream()
-                    .limit(number)
-                    .collect(Collectors.toList());
         }
+        return selected;
+    }
 
-        // Se scriu titlurile videoclipurilor care au ramas in rezultat
+    /**
+     * Scrie titlurile videoclipurilor din rezultat
+     * @param catalog Catalogul
+     * @param positions Pozitiile videoclipurilor din rezultat, in ordine
+     * @return Rezultatul query-ului
+     */
+    private String writeTitles(final VideoCatalog catalog, final List<Integer> positions) {
+        StringBuilder result = new StringBuilder(Constants.QUERY_RESULT + ": [");
         int i = 0;
-        for (Video video : orderedVideos) {
-            result.append(video.getTitle());
-            if (i != orderedVideos.size() - 1) {
+        for (int index : positions) {
+            result.append(catalog.getTitle(index));
+            if (i != positions.size() - 1) {
                 result.append(", ");
             }
             i++;
@@ -101,201 +81,153 @@ public abstract class QueryVideo extends Query {
     }
 
     /**
-     * Ruleaza query-ul de favorite
+     * Ruleaza query-ul de rating, asa cum este descris in tema
+     * @param repo Baza de date
      * @return Rezultatul query-ului
      */
-    private String favorite() {
-        StringBuilder result = new StringBuilder(Constants.QUERY_RESULT + ": [");
-        Repository repo = Repository.getRepo();
-        List<Video> orderedVideos = getVideoList();
+    private String rating(final Repository repo) {
+        VideoCatalog catalog = getCatalog(repo);
 
-        // Se elimina videoclipurile care nu apar in lista de favorite a nici-unui utilizator
-        orderedVideos = orderedVideos.stream()
-                .filter(video -> repo.videoTotalFavorites(video.getTitle()) != 0)
-                .collect(Collectors.toList());
+        // Se pastreaza videoclipurile cu genul si anul cerut care au rating
+        List<Integer> ordered = selectNonZero(catalog, catalog::getRating);
 
-        // Se elimina videoclipurile care nu au genul corespunzator
-        if (genre != null) {
-            orderedVideos = orderedVideos.stream()
-                    .filter(video -> video.getGenres().contains(genre))
-                    .collect(Collectors.toList());
-        }
-
-        // Se elimina video-urile care nu au anul corespunzator
-        if (year > 0) {
-            orderedVideos = orderedVideos.stream()
-                    .filter(video -> video.getYear() == year)
-                    .collect(Collectors.toList());
-        }
-
-        // Se sorteaza dupa numarul de favorite-uri
-        orderedVideos.sort(new Comparator<Video>() {
+        // Se sorteaza videoclipurile
+        // Comparatorul rotunjeste in jos diferenta rating-urilor si nu este o relatie de
+        // ordine, rezultatul depinde de algoritmul de sortare, de aceea aici se pastreaza
+        // sortarea completa in locul selectiei din TopN
+        ordered.sort(new Comparator<Integer>() {
             @Override
-            public int compare(final Video o1, final Video o2) {
-                int diff = repo.videoTotalFavorites(o1.getTitle())
-                           - repo.videoTotalFavorites(o2.getTitle());
+            public int compare(final Integer o1, final Integer o2) {
+                int diff = (int) Math.floor(catalog.getRating(o1) - catalog.getRating(o2));
                 if (diff == 0) {
-                    return o1.getTitle().compareTo(o2.getTitle());
+                    return catalog.getTitle(o1).compareTo(catalog.getTitle(o2));
                 }
                 return diff;
             }
         });
 
-        // Se inverseaza lista
+        // Se inverseaza ordinea daca se cere
         if (sortType.equals(Constants.DESCENDING)) {
-            Collections.reverse(orderedVideos);
+            Collections.reverse(ordered);
         }
 
-        // Se pastreaza doar primele n video-uri
-        if (number != 0) {
-            orderedVideos = orderedVideos.stream().limit(number).collect(Collectors.toList());
-        }
-
-        // Se scriu videoclipurile ramase in rezultat
-        int i = 0;
-        for (Video video : orderedVideos) {
-            result.append(video.getTitle());
-            if (i != orderedVideos.size() - 1) {
-                result.append(", ");
-            }
-            i++;
+        // Daca se cere se extrag doar primele n videoclipuri
+        if (number > 0 && number < ordered.size()) {
+            ordered = ordered.subList(0, number);
         }
-        result.append("]");
 
-        return result.toString();
+        return writeTitles(catalog, ordered);
     }
 
     /**
-     * Ruleaza query-ul pentru cel mai lung video
+     * Ruleaza query-ul de favorite
+     * @param repo Baza de date
      * @return Rezultatul query-ului
      */
-    private String longest() {
-        StringBuilder result = new StringBuilder(Constants.QUERY_RESULT + ": [");
-        List<Video> orderedVideos = getVideoList();
-
-        // Se elimina video-urile care nu au genul corespunzator
-        if (genre != null) {
-            orderedVideos = orderedVideos.stream()
-                    .filter(video -> video.getGenres().contains(genre))
-                    .collect(Collectors.toList());
-        }
+    private String favorite(final Repository repo) {
+        VideoCatalog catalog = getCatalog(repo);
 
-        // Se elimina video-urile care nu au anul corespunzator
-        if (year > 0) {
-            orderedVideos = orderedVideos.stream()
-                    .filter(video -> video.getYear() == year)
-                    .collect(Collectors.toList());
-        }
+        // Se pastreaza videoclipurile cu genul si anul cerut care apar in lista de
+        // favorite a cel putin unui utilizator
+        List<Integer> ordered = selectNonZero(catalog,
+                index -> repo.videoTotalFavorites(catalog.getTitleId(index)));
 
-        // Se sorteaza dupa durata
-        orderedVideos.sort(new Comparator<Video>() {
+        // Se pastreaza doar primele n video-uri dupa numarul de favorite-uri
+        ordered = TopN.select(ordered, new Comparator<Integer>() {
             @Override
-            public int compare(final Video o1, final Video o2) {
-                int diff = o1.totalDuration() - o2.totalDuration();
+            public int compare(final Integer o1, final Integer o2) {
+                int diff = repo.videoTotalFavorites(catalog.getTitleId(o1))
+                           - repo.videoTotalFavorites(catalog.getTitleId(o2));
                 if (diff == 0) {
-                    return o1.getTitle().compareTo(o2.getTitle());
+                    return catalog.getTitle(o1).compareTo(catalog.getTitle(o2));
                 }
                 return diff;
             }
-        });
-        // Se schimba ordinea
-        if (sortType.equals(Constants.DESCENDING)) {
-            Collections.reverse(orderedVideos);
-        }
+        }, sortType.equals(Constants.DESCENDING), number);
 
-        // Se pastreaza primele n intrari
-        if (number != 0) {
-            orderedVideos = orderedVideos.stream().limit(number).collect(Collectors.toList());
-        }
+        return writeTitles(catalog, ordered);
+    }
 
-        int i = 0;
-        for (Video video : orderedVideos) {
-            result.append(video.getTitle());
-            if (i != orderedVideos.size() - 1) {
-                result.append(", ");
+    /**
+     * Ruleaza query-ul pentru cel mai lung video
+     * @param repo Baza de date
+     * @return Rezultatul query-ului
+     */
+    private String longest(final Repository repo) {
+        VideoCatalog catalog = getCatalog(repo);
+        boolean descending = sortType.equals(Constants.DESCENDING);
+        long genreBit = genre == null ? 0 : GenreMask.bit(genre);
+
+        // Videoclipurile sunt deja sortate dupa durata si titlu; pentru ordinea
+        // descrescatoare se parcurge ordinea de la coada la cap, ca dupa o inversare
+        // a listei sortate, si se pastreaza primele n videoclipuri cu genul si anul cerut
+        List<Integer> ordered = new ArrayList<>();
+        for (int i = 0; i < catalog.size(); i++) {
+            if (number > 0 && ordered.size() == number) {
+                break;
+            }
+            int index = catalog.getByDuration(descending ? catalog.size() - 1 - i : i);
+            if (catalog.matches(index, year, genre, genreBit)) {
+                ordered.add(index);
             }
-            i++;
         }
-        result.append("]");
 
-        return result.toString();
+        return writeTitles(catalog, ordered);
     }
 
     /**
      * Se ruleaza query-ul pentru cel mai vizionat videoclip
+     * @param repo Baza de date
      * @return Rezultatul query-ului
      */
-    private String mostViewed() {
-        StringBuilder result = new StringBuilder(Constants.QUERY_RESULT + ": [");
-        Repository repo = Repository.getRepo();
-        List<Video> orderedVideos = getVideoList();
-
-        // Se elimina video-urile care nu au vizionari
-        orderedVideos = orderedVideos.stream()
-                .filter(video -> repo.videoTotalViews(video.getTitle()) != 0)
-                .collect(Collectors.toList());
-
-        // Se elimina video-urile care nu au genul corespunzator
-        if (genre != null) {
-            orderedVideos = orderedVideos.stream()
-                    .filter(video -> video.getGenres().contains(genre))
-                    .collect(Collectors.toList());
-        }
+    private String mostViewed(final Repository repo) {
+        VideoCatalog catalog = getCatalog(repo);
 
-        /// Acelasi lucru pentru an
-        if (year > 0) {
-            orderedVideos = orderedVideos.stream()
-                    .filter(video -> video.getYear() == year)
-                    .collect(Collectors.toList());
-        }
+        // Se pastreaza videoclipurile cu genul si anul cerut care au vizionari
+        List<Integer> ordered = selectNonZero(catalog,
+                index -> repo.videoTotalViews(catalog.getTitleId(index)));
 
-        // Se sorteaza dupa vizionari
-        orderedVideos.sort(new Comparator<Video>() {
+        // Se pastreaza primele n intrari dupa vizionari
+        ordered = TopN.select(ordered, new Comparator<Integer>() {
             @Override
-            public int compare(final Video o1, final Video o2) {
-                int diff = repo.videoTotalViews(o1.getTitle())
-                           - repo.videoTotalViews(o2.getTitle());
+            public int compare(final Integer o1, final Integer o2) {
+                int diff = repo.videoTotalViews(catalog.getTitleId(o1))
+                           - repo.videoTotalViews(catalog.getTitleId(o2));
                 if (diff == 0) {
-                    return o1.getTitle().compareTo(o2.getTitle());
+                    return catalog.getTitle(o1).compareTo(catalog.getTitle(o2));
                 }
                 return diff;
             }
-        });
-
-        // Se inverseaza ordinea daca se cere
-        if (sortType.equals(Constants.DESCENDING)) {
-            Collections.reverse(orderedVideos);
-        }
+        }, sortType.equals(Constants.DESCENDING), number);
 
-        // se pastreaza primele n intrari
-        if (number != 0) {
-            orderedVideos = orderedVideos.stream().limit(number).collect(Collectors.toList());
-        }
-
-        int i = 0;
-        for (Video video : orderedVideos) {
-            result.append(video.getTitle());
-            if (i != orderedVideos.size() - 1) {
-                result.append(", ");
-            }
-            i++;
-        }
-        result.append("]");
-
-        return result.toString();
+        return writeTitles(catalog, ordered);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public String runAction() {
+    protected String runQuery(final Repository repo) {
         return switch (criteria) {
-            case Constants.RATINGS -> rating();
-            case Constants.FAVORITE -> favorite();
-            case Constants.LONGEST -> longest();
-            case Constants.MOST_VIEWED -> mostViewed();
+            case Constants.RATINGS -> rating(repo);
+            case Constants.FAVORITE -> favorite(repo);
+            case Constants.LONGEST -> longest(repo);
+            case Constants.MOST_VIEWED -> mostViewed(repo);
             default -> Constants.OPERATION_NOT_DEFINED + getClass();
         };
     }
+
+    /**
+     * Fiecare criteriu depinde de datele dupa care se sorteaza, durata nu se schimba
+     * @return Categoriile de date
+     */
+    @Override
+    protected Set<QueryCache.Data> dependencies() {
+        return switch (criteria) {
+            case Constants.RATINGS -> EnumSet.of(QueryCache.Data.RATINGS);
+            case Constants.FAVORITE -> EnumSet.of(QueryCache.Data.FAVORITES);
+            case Constants.MOST_VIEWED -> EnumSet.of(QueryCache.Data.VIEWS);
+            default -> EnumSet.noneOf(QueryCache.Data.class);
+        };
+    }
 }
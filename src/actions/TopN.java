@@ -0,0 +1,114 @@
+package actions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selecteaza primele n elemente dintr-o lista dupa un comparator, crescator sau descrescator
+ *
+ * Rezultatul este acelasi cu cel al unei sortari stabile urmate de inversarea listei
+ * (pentru ordinea descrescatoare) si de pastrarea primelor n elemente: la egalitate,
+ * elementele raman in ordinea din lista pentru ordinea crescatoare si in ordinea inversa
+ * pentru cea descrescatoare. Comparatorul trebuie sa fie o relatie de ordine.
+ */
+public final class TopN {
+    /**
+     * for coding style
+     */
+    private TopN() {
+    }
+
+    /**
+     * Un element impreuna cu pozitia lui printre candidati, folosita la egalitate
+     * @param <T> Tipul elementului
+     */
+    private static final class Entry<T> {
+        private final T item;
+        private final int position;
+
+        Entry(final T item, final int position) {
+            this.item = item;
+            this.position = position;
+        }
+    }
+
+    /**
+     * Intoarce primele n elemente din lista in ordinea ceruta
+     * @param items Elementele din care se face selectia, lista nu este modificata
+     * @param comparator Ordinea crescatoare a elementelor
+     * @param descending True daca se cere ordinea descrescatoare
+     * @param number Numarul de elemente care se pastreaza, 0 pentru toate
+     * @param <T> Tipul elementelor
+     * @return O lista noua cu elementele selectate
+     */
+    public static <T> List<T> select(final List<? extends T> items,
+                                     final Comparator<? super T> comparator,
+                                     final boolean descending, final int number) {
+        // Pentru ordinea descrescatoare candidatii sunt luati de la coada la cap, astfel
+        // sortarea stabila cu comparatorul inversat pastreaza elementele egale in
+        // ordinea inversa, fara sa mai fie nevoie de inversarea rezultatului
+        List<T> candidates = new ArrayList<>(items.size());
+        if (descending) {
+            for (int i = items.size() - 1; i >= 0; i--) {
+                candidates.add(items.get(i));
+            }
+        } else {
+            candidates.addAll(items);
+        }
+        Comparator<? super T> order = descending ? comparator.reversed() : comparator;
+
+        if (number <= 0 || number > candidates.size() / 2) {
+            candidates.sort(order);
+            if (number > 0 && number < candidates.size()) {
+                return new ArrayList<>(candidates.subList(0, number));
+            }
+            return candidates;
+        }
+
+        return selectWithHeap(candidates, order, number);
+    }
+
+    /**
+     * Selectia propriu-zisa pentru n mic, cu un heap care retine cele mai bune n
+     * elemente vazute pana acum, in O(size * log n)
+     * @param candidates Candidatii, deja in ordinea in care se rezolva egalitatile
+     * @param order Ordinea in care se face selectia
+     * @param number Numarul de elemente care se pastreaza
+     * @param <T> Tipul elementelor
+     * @return Primele n elemente, in ordine
+     */
+    private static <T> List<T> selectWithHeap(final List<T> candidates,
+                                              final Comparator<? super T> order,
+                                              final int number) {
+        Comparator<Entry<T>> rank = (o1, o2) -> {
+            int diff = order.compare(o1.item, o2.item);
+            if (diff == 0) {
+                return Integer.compare(o1.position, o2.position);
+            }
+            return diff;
+        };
+
+        // Varful heap-ului este cel mai slab element dintre cele retinute
+        PriorityQueue<Entry<T>> heap = new PriorityQueue<>(number + 1, rank.reversed());
+        for (int i = 0; i < candidates.size(); i++) {
+            Entry<T> entry = new Entry<>(candidates.get(i), i);
+            if (heap.size() < number) {
+                heap.add(entry);
+            } else if (rank.compare(entry, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        List<T> selected = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            selected.add(heap.poll().item);
+        }
+        // Elementele ies din heap de la cel mai slab la cel mai bun
+        Collections.reverse(selected);
+        return selected;
+    }
+}
@@ -4,6 +4,7 @@ import fileio.ActorInputData;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import common.Constants;
 
@@ -14,6 +15,12 @@ import common.Constants;
 public final class Actor {
     private final String name;
     private final String careerDescription;
+    /**
+     * Descrierea cu litere mici si cuvintele ei, calculate o singura data pentru
+     * query-ul de tip Filter Description
+     */
+    private final String lowerCaseDescription;
+    private final Set<String> descriptionWords;
     /**
      * Filemele si serialele in care a participat actorul
      */
@@ -30,6 +37,8 @@ public final class Actor {
     public Actor(final ActorInputData input) {
         name = input.getName();
         careerDescription = input.getCareerDescription();
+        lowerCaseDescription = careerDescription.toLowerCase();
+        descriptionWords = WordMatcher.tokenize(lowerCaseDescription);
         filmography = input.getFilmography();
         awards = input.getAwards();
     }
@@ -42,6 +51,10 @@ public final class Actor {
         return careerDescription;
     }
 
+    public Set<String> getDescriptionWords() {
+        return descriptionWords;
+    }
+
     public List<String> getFilmography() {
         return filmography;
     }
@@ -81,6 +94,18 @@ public final class Actor {
         };
     }
 
+    /**
+     * Verifica daca descrierea actorului contine cuvantul dat, ca si cuvant intreg
+     * @param word Cuvantul cautat, comparat cu descrierea scrisa cu litere mici
+     * @return True daca descrierea contine cuvantul
+     */
+    public boolean hasDescriptionWord(final String word) {
+        if (WordMatcher.isPlainWord(word)) {
+            return descriptionWords.contains(word);
+        }
+        return WordMatcher.matches(lowerCaseDescription, word);
+    }
+
     /**
      * Verifica daca actorul are award-ul specificat
      * @param award Award-ul
@@ -0,0 +1,126 @@
+package actor;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Cautarea unui cuvant intreg intr-un text, cu aceeasi semantica ca expresia
+ * regulata "\\b" + cuvant + "\\b"
+ *
+ * Textul este impartit o singura data in cuvinte, folosind aceeasi definitie a
+ * caracterelor de cuvant ca si "\\b": litere, cifre, '_' si semnele diacritice
+ * (NON_SPACING_MARK) atasate unei litere sau cifre. Un cuvant format doar din astfel de
+ * caractere apare in text daca si numai daca este unul dintre cuvintele textului.
+ * Pentru celelalte cuvinte se foloseste expresia regulata, compilata o singura data.
+ */
+public final class WordMatcher {
+    /**
+     * Expresiile regulate compilate pana acum, dupa cuvantul cautat
+     */
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    /**
+     * for coding style
+     */
+    private WordMatcher() {
+    }
+
+    /**
+     * Imparte un text in cuvinte
+     * @param text Textul
+     * @return Multimea cuvintelor din text
+     */
+    public static Set<String> tokenize(final String text) {
+        Set<String> words = new HashSet<>();
+        int start = -1;
+        int i = 0;
+        while (i < text.length()) {
+            int ch = text.codePointAt(i);
+            if (isWordCharacter(text, i, ch)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(ch);
+        }
+        if (start >= 0) {
+            words.add(text.substring(start));
+        }
+        return words;
+    }
+
+    /**
+     * Verifica daca un cuvant este format doar din caractere de cuvant, adica daca
+     * poate fi cautat direct printre cuvintele unui text
+     * @param word Cuvantul
+     * @return True daca se poate cauta printre cuvintele textului
+     */
+    public static boolean isPlainWord(final String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        int i = 0;
+        while (i < word.length()) {
+            int ch = word.codePointAt(i);
+            if (!isWord(ch)) {
+                return false;
+            }
+            i += Character.charCount(ch);
+        }
+        return true;
+    }
+
+    /**
+     * Cauta un cuvant oarecare in text cu expresia regulata "\\b" + cuvant + "\\b"
+     * @param text Textul
+     * @param word Cuvantul
+     * @return True daca textul contine cuvantul
+     */
+    public static boolean matches(final String text, final String word) {
+        Pattern pattern = PATTERNS.computeIfAbsent(word,
+                key -> Pattern.compile("\\b" + key + "\\b"));
+        return pattern.matcher(text).find();
+    }
+
+    private static boolean isWord(final int ch) {
+        return ch == '_' || Character.isLetterOrDigit(ch);
+    }
+
+    /**
+     * Caracterele de cuvant asa cum sunt definite pentru "\\b"
+     * @param text Textul
+     * @param index Pozitia caracterului in text
+     * @param ch Caracterul de pe acea pozitie
+     * @return True daca este caracter de cuvant
+     */
+    private static boolean isWordCharacter(final String text, final int index, final int ch) {
+        return isWord(ch) || (Character.getType(ch) == Character.NON_SPACING_MARK
+                && hasBaseCharacter(text, index));
+    }
+
+    /**
+     * Un semn diacritic face parte din cuvant daca, sarind peste alte semne diacritice,
+     * este precedat de o litera sau cifra
+     * @param text Textul
+     * @param index Pozitia semnului diacritic
+     * @return True daca semnul este atasat unei litere sau cifre
+     */
+    private static boolean hasBaseCharacter(final String text, final int index) {
+        for (int x = index; x >= 0; x--) {
+            int ch = text.codePointAt(x);
+            if (Character.isLetterOrDigit(ch)) {
+                return true;
+            }
+            if (Character.getType(ch) != Character.NON_SPACING_MARK) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
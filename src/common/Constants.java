@@ -73,6 +73,28 @@ public final class Constants {
     public static final int LARGE_TEST = 3;
     public static final int MAX_LENGTH = 50;
 
+    /**
+     * Alege modul de citire a fisierelor de intrare: true pentru StreamingInputLoader,
+     * care construieste obiectele direct din fisier, false pentru InputLoader
+     */
+    public static final boolean STREAMING_INPUT = true;
+    /**
+     * Alege modul de scriere a rezultatelor: true pentru StreamingWriter, care scrie
+     * fiecare rezultat imediat, false pentru Writer, care scrie tot array-ul la final
+     */
+    public static final boolean STREAMING_OUTPUT = true;
+    /**
+     * Numarul de fire de executie pe care Main proceseaza fisierele de test in paralel,
+     * 0 pentru numarul de procesoare
+     */
+    public static final int BATCH_THREADS = 0;
+    /**
+     * Numarul de fire de executie pe care ruleaza in paralel actiunile care doar citesc
+     * baza de date, intre doua comenzi: 0 pentru numarul de procesoare, 1 pentru rularea
+     * secventiala
+     */
+    public static final int ACTION_THREADS = 0;
+
     // add any constants you think you may use
     public static final String OPERATION_NOT_DEFINED = "Operation not defined in ";
     public static final String AWARD_BEST_PERFORMANCE = "BEST_PERFORMANCE";
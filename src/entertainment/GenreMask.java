@@ -0,0 +1,84 @@
+package entertainment;
+
+import utils.Utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multimi de genuri reprezentate ca masti de biti, cate un bit pentru fiecare valoare din
+ * enum-ul Genre
+ *
+ * Doar denumirile scrise exact ca in fisierele de intrare ("Drama", "TV Movie",
+ * "Sci-Fi & Fantasy", ...) primesc bitul genului; orice alta denumire, de exemplu "drama"
+ * sau un gen care nu exista in enum, seteaza bitul OTHER, iar pentru ea se cauta in lista
+ * de genuri a videoclipului, ca si inainte.
+ */
+public final class GenreMask {
+    /**
+     * Bitul setat pentru videoclipurile care au si genuri fara denumire canonica
+     */
+    public static final long OTHER = 1L << (Long.SIZE - 1);
+
+    /**
+     * Denumirile canonice ale genurilor, asa cum apar in fisierele de intrare
+     */
+    public static final List<String> NAMES = List.of("Action", "Adventure", "Drama", "Comedy",
+        "Crime", "Romance", "War", "History", "Thriller", "Mystery", "Family", "Horror",
+        "Fantasy", "Science Fiction", "Action & Adventure", "Sci-Fi & Fantasy", "Animation",
+        "Kids", "Western", "TV Movie");
+    private static final Map<String, Long> BITS = new HashMap<>();
+
+    static {
+        for (String name : NAMES) {
+            BITS.put(name, 1L << Utils.stringToGenre(name).ordinal());
+        }
+    }
+
+    /**
+     * for coding style
+     */
+    private GenreMask() {
+    }
+
+    /**
+     * Bitul unui gen
+     * @param genre Denumirea genului
+     * @return Bitul genului, 0 daca denumirea nu este una canonica
+     */
+    public static long bit(final String genre) {
+        return BITS.getOrDefault(genre, 0L);
+    }
+
+    /**
+     * Construieste masca unei liste de genuri
+     * @param genres Genurile
+     * @return Masca, cu bitul OTHER setat daca exista genuri fara denumire canonica
+     */
+    public static long of(final List<String> genres) {
+        long mask = 0;
+        for (String genre : genres) {
+            long bit = bit(genre);
+            mask |= bit != 0 ? bit : OTHER;
+        }
+        return mask;
+    }
+
+    /**
+     * Verifica daca un videoclip are genul dat, cu acelasi rezultat ca genres.contains(genre)
+     * @param mask Masca genurilor videoclipului
+     * @param genres Lista genurilor videoclipului, folosita doar pentru denumirile
+     *               care nu sunt canonice
+     * @param genre Genul cautat
+     * @param genreBit Bitul genului cautat, calculat o singura data cu bit(genre)
+     * @return True daca videoclipul are genul
+     */
+    public static boolean contains(final long mask, final List<String> genres,
+                                   final String genre, final long genreBit) {
+        if (genreBit != 0) {
+            return (mask & genreBit) != 0;
+        }
+        return (mask & OTHER) != 0 && genres.contains(genre);
+    }
+}
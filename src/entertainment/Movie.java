@@ -2,9 +2,6 @@ package entertainment;
 
 import fileio.MovieInputData;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Clasa care defineste un film
  */
@@ -14,18 +11,23 @@ public final class Movie extends Video {
      */
     private final int duration;
     /**
-     * Rating-urile date unui film fac parte din clasa
+     * Din rating-urile date unui film se retin doar suma, adunata in ordinea in care
+     * au fost date, si numarul lor
      */
-    private final List<Double> ratings;
+    private double ratingsSum;
+    private int numRatings;
 
     public Movie(final MovieInputData input) {
         super(input);
-        this.ratings = new ArrayList<>();
         this.duration = input.getDuration();
     }
 
-    public List<Double> getRatings() {
-        return ratings;
+    public double getRatingsSum() {
+        return ratingsSum;
+    }
+
+    public int getNumRatings() {
+        return numRatings;
     }
 
     public int getDuration() {
@@ -33,11 +35,12 @@ public final class Movie extends Video {
     }
 
     /**
-     * Adauga un rating in lista de rating-uri
+     * Adauga un rating la rating-urile filmului
      * @param grade Rating-ul care va fi adaugat
      */
     public void rateMovie(final double grade) {
-        ratings.add(grade);
+        ratingsSum += grade;
+        numRatings++;
     }
 
     /**
@@ -46,15 +49,10 @@ public final class Movie extends Video {
      */
     @Override
     public double ratingsAverage() {
-        double average = 0;
-        for (double rating : ratings) {
-            average += rating;
-        }
-        if (ratings.size() == 0) {
+        if (numRatings == 0) {
             return 0;
         }
-        average /= ratings.size();
-        return average;
+        return ratingsSum / numRatings;
     }
 
     /**
@@ -13,25 +13,45 @@ public final class Serial extends Video {
      */
     private final int numSeasons;
     /**
-     * Si o lista de sezoane
+     * Suma si numarul rating-urilor fiecarui sezon; sezoanele primite la incarcare
+     * nu sunt modificate, rating-urile se tin aici
      */
-    private final List<Season> seasons;
+    private final double[] seasonRatingsSum;
+    private final int[] seasonNumRatings;
+    /**
+     * Media rating-urilor serialului, recalculata de fiecare data cand
+     * un sezon primeste un rating
+     */
+    private double average;
+    /**
+     * Suma duratelor sezoanelor, copiate la incarcarea bazei de date
+     */
+    private final int totalDuration;
 
     public Serial(final SerialInputData input) {
         super(input);
 
-        this.seasons = input.getSeasons();
-        this.numSeasons = this.seasons.size();
+        List<Season> seasons = input.getSeasons();
+        this.numSeasons = seasons.size();
+        this.seasonRatingsSum = new double[numSeasons];
+        this.seasonNumRatings = new int[numSeasons];
+        int duration = 0;
+        for (int i = 0; i < numSeasons; i++) {
+            Season season = seasons.get(i);
+            duration += season.getDuration();
+            for (double rating : season.getRatings()) {
+                seasonRatingsSum[i] += rating;
+                seasonNumRatings[i]++;
+            }
+        }
+        this.totalDuration = duration;
+        this.average = calcRatingsAverage();
     }
 
     public int getNumSeasons() {
         return numSeasons;
     }
 
-    public List<Season> getSeasons() {
-        return seasons;
-    }
-
     /**
      * Da un rating unui sezon a serialului
      * @param seasonNumber Numarul sezonului caruia i se va da rating
@@ -42,48 +62,44 @@ public final class Serial extends Video {
         if (seasonNumber < 1 || seasonNumber > numSeasons) {
             return false;
         }
-        seasons.get(seasonNumber - 1).getRatings().add(grade);
+        seasonRatingsSum[seasonNumber - 1] += grade;
+        seasonNumRatings[seasonNumber - 1]++;
+        average = calcRatingsAverage();
         return true;
     }
 
     /**
-     * Calculeaza media aritmetica a rating-urilor sezoanelor serialului
+     * Intoarce media aritmetica a rating-urilor sezoanelor serialului
      * @return Media rating-urilor serialului
      */
+    @Override
     public double ratingsAverage() {
-        double average = 0, seasonAverage = 0;
-        int size = 0;
-        for (Season season : seasons) {
-            seasonAverage = 0;
-            size++;
+        return average;
+    }
 
-            if (season.getRatings().size() == 0) {
+    /**
+     * Calculeaza media aritmetica a rating-urilor sezoanelor serialului
+     * @return Media rating-urilor serialului
+     */
+    private double calcRatingsAverage() {
+        double sum = 0;
+        for (int i = 0; i < numSeasons; i++) {
+            if (seasonNumRatings[i] == 0) {
                 continue;
             }
-
-            for (double rating : season.getRatings()) {
-                seasonAverage += rating;
-            }
-
-            seasonAverage /= season.getRatings().size();
-            average += seasonAverage;
+            sum += seasonRatingsSum[i] / seasonNumRatings[i];
         }
-        if (size == 0) {
+        if (numSeasons == 0) {
             return 0;
         }
-        average /= size;
-        return average;
+        return sum / numSeasons;
     }
 
     /**
-     * Calculeaza suma duratelor sezoanelor serialului
+     * Intoarce suma duratelor sezoanelor serialului
      * @return Durata totala a serialului
      */
     public int totalDuration() {
-        int totalDuration = 0;
-        for (Season season : seasons) {
-            totalDuration += season.getDuration();
-        }
         return totalDuration;
     }
 }
@@ -18,12 +18,17 @@ public abstract class Video {
      * Toate genurile din care face parte videoclipul
      */
     private final List<String> genres;
+    /**
+     * Genurile videoclipului ca masca de biti, calculata o singura data la incarcare
+     */
+    private final long genreMask;
 
     public Video(final ShowInput input) {
         this.title = input.getTitle();
         this.year = input.getYear();
         this.cast = input.getCast();
         this.genres = input.getGenres();
+        this.genreMask = GenreMask.of(genres);
     }
 
     public final String getTitle() {
@@ -42,6 +47,10 @@ public abstract class Video {
         return genres;
     }
 
+    public final long getGenreMask() {
+        return genreMask;
+    }
+
     /**
      * Metoda care intoarce rating-ul videoclipului
      *
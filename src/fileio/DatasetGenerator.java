@@ -0,0 +1,519 @@
+package fileio;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import common.Constants;
+import entertainment.GenreMask;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Genereaza fisiere de intrare sintetice, in acelasi format ca cele din test_db, pentru
+ * teste de incarcare pe baze de date mari
+ *
+ * Fisierul este scris pe masura ce este generat, cu un JsonGenerator, fara sa se tina in
+ * memorie entitatile deja scrise: numele si titlurile sunt deduse din indici ("Actor 12",
+ * "Movie 7", "Serial 3", "user42"), iar numarul de sezoane al unui serial este calculat din
+ * seed si din indicele serialului. Aceeasi configuratie si acelasi seed dau acelasi fisier.
+ *
+ * Popularitatea videoclipurilor si a actorilor urmeaza o distributie puternic inclinata:
+ * cateva titluri apar in istoricul multor utilizatori, iar majoritatea in foarte putine.
+ */
+public final class DatasetGenerator {
+    private static final List<String> GENRES = GenreMask.NAMES;
+    private static final String[] AWARDS = {Constants.AWARD_BEST_PERFORMANCE,
+        Constants.AWARD_BEST_DIRECTOR, Constants.AWARD_PEOPLE_CHOICE_AWARD,
+        Constants.AWARD_BEST_SUPPORTING_ACTOR, Constants.AWARD_BEST_SCREENPLAY};
+    private static final String[] WORDS = {"actor", "actress", "award", "producer", "director",
+        "film", "television", "american", "british", "series", "role", "academy", "nominated",
+        "starred", "comedy", "drama", "voice", "stage", "career", "golden", "globe", "emmy",
+        "writer", "singer", "known", "born", "debut", "leading", "supporting", "theatre"};
+    private static final String[] COMMANDS = {Constants.VIEW, Constants.FAVORITE,
+        Constants.RATING};
+    private static final String[] VIDEO_CRITERIA = {Constants.RATINGS, Constants.FAVORITE,
+        Constants.LONGEST, Constants.MOST_VIEWED};
+    private static final String[] ACTOR_CRITERIA = {Constants.AVERAGE, Constants.AWARDS,
+        Constants.FILTER_DESCRIPTIONS};
+    private static final String[] OBJECTS = {Constants.ACTORS, Constants.MOVIES,
+        Constants.SHOWS, Constants.USERS};
+    private static final String[] RECOMMENDATIONS = {Constants.STANDARD,
+        Constants.BEST_UNSEEN, Constants.POPULAR, Constants.FAVORITE, Constants.SEARCH};
+
+    /**
+     * Exponentul distributiei de popularitate, cu cat e mai mare cu atat primele titluri
+     * sunt mai populare
+     */
+    private static final double POPULARITY_SKEW = 3.0;
+    /**
+     * Exponentul distributiei marimii istoricului, majoritatea utilizatorilor au vazut putine
+     * videoclipuri
+     */
+    private static final double HISTORY_SKEW = 4.0;
+    private static final int MAX_HISTORY = 300;
+    private static final int MAX_VIEWS = 5;
+    private static final double FAVORITE_PROBABILITY = 0.2;
+    private static final double PREMIUM_PROBABILITY = 0.3;
+    private static final int MAX_CAST = 12;
+    private static final int MAX_FILMOGRAPHY = 25;
+    private static final int MAX_GENRES = 3;
+    private static final int MAX_SEASONS = 10;
+    private static final int MIN_DURATION = 20;
+    private static final int MAX_DURATION = 200;
+    private static final int FIRST_YEAR = 1950;
+    private static final int LAST_YEAR = 2023;
+    private static final int MIN_DESCRIPTION = 20;
+    private static final int MAX_DESCRIPTION = 120;
+    private static final int MAX_GRADE = 10;
+    private static final int MAX_QUERY_NUMBER = 50;
+    private static final int MAX_FILTER_WORDS = 3;
+    private static final int MAX_AWARDS = 5;
+
+    private static final int DEFAULT_ACTORS = 50_000;
+    private static final int DEFAULT_MOVIES = 200_000;
+    private static final int DEFAULT_SERIALS = 100_000;
+    private static final int DEFAULT_USERS = 1_000_000;
+    private static final int DEFAULT_ACTIONS = 100_000;
+    private static final int DEFAULT_COMMANDS = 50;
+    private static final int DEFAULT_QUERIES = 40;
+    private static final int DEFAULT_RECOMMENDATIONS = 15;
+
+    private final long seed;
+    private final Random random;
+    private final int numActors;
+    private final int numMovies;
+    private final int numSerials;
+    private final int numUsers;
+    private final int numActions;
+    /**
+     * Pasul cu care rangul de popularitate este transformat in indicele videoclipului,
+     * astfel incat filmele si serialele populare sa fie amestecate
+     */
+    private final int videoStride;
+
+    private int commandWeight = DEFAULT_COMMANDS;
+    private int queryWeight = DEFAULT_QUERIES;
+    private int recommendationWeight = DEFAULT_RECOMMENDATIONS;
+
+    public DatasetGenerator(final long seed, final int numActors, final int numMovies,
+                            final int numSerials, final int numUsers, final int numActions) {
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.numActors = numActors;
+        this.numMovies = numMovies;
+        this.numSerials = numSerials;
+        this.numUsers = numUsers;
+        this.numActions = numActions;
+        this.videoStride = coprimeStride(numMovies + numSerials);
+    }
+
+    /**
+     * Stabileste proportiile dintre tipurile de actiuni generate
+     * @param commands Ponderea comenzilor
+     * @param queries Ponderea cautarilor
+     * @param recommendations Ponderea recomandarilor
+     */
+    public void setActionMix(final int commands, final int queries, final int recommendations) {
+        if (commands < 0 || queries < 0 || recommendations < 0
+                || commands + queries + recommendations == 0) {
+            throw new IllegalArgumentException("Invalid action mix");
+        }
+        this.commandWeight = commands;
+        this.queryWeight = queries;
+        this.recommendationWeight = recommendations;
+    }
+
+    /**
+     * Genereaza fisierul de intrare
+     * @param path Calea fisierului
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public void generate(final String path) throws IOException {
+        random.setSeed(seed);
+        JsonFactory factory = new JsonFactory();
+        try (JsonGenerator generator = factory.createGenerator(
+                new BufferedWriter(new FileWriter(path)))) {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart(Constants.DATABASE);
+
+            generator.writeArrayFieldStart(Constants.ACTORS);
+            for (int i = 0; i < numActors; i++) {
+                writeActor(generator, i);
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart(Constants.MOVIES);
+            for (int i = 0; i < numMovies; i++) {
+                writeMovie(generator, i);
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart(Constants.SHOWS);
+            for (int i = 0; i < numSerials; i++) {
+                writeSerial(generator, i);
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart(Constants.USERS);
+            for (int i = 0; i < numUsers; i++) {
+                writeUser(generator, i);
+            }
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+
+            generator.writeArrayFieldStart(Constants.ACTIONS);
+            for (int i = 1; i <= numActions; i++) {
+                writeAction(generator, i);
+            }
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeActor(final JsonGenerator generator, final int index) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(Constants.NAME, actorName(index));
+        generator.writeStringField(Constants.DESCRIPTION, description());
+
+        generator.writeArrayFieldStart(Constants.FILMOGRAPHY);
+        if (numMovies + numSerials > 0) {
+            for (int video : distinct(1 + random.nextInt(MAX_FILMOGRAPHY),
+                    numMovies + numSerials, videoStride)) {
+                generator.writeString(videoTitle(video));
+            }
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart(Constants.AWARDS);
+        if (random.nextBoolean()) {
+            int awards = 1 + random.nextInt(AWARDS.length);
+            int first = random.nextInt(AWARDS.length);
+            for (int i = 0; i < awards; i++) {
+                generator.writeStartObject();
+                generator.writeStringField(Constants.AWARD_TYPE,
+                        AWARDS[(first + i) % AWARDS.length]);
+                generator.writeNumberField(Constants.NUMBER_OF_AWARDS,
+                        1 + random.nextInt(MAX_AWARDS));
+                generator.writeEndObject();
+            }
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeMovie(final JsonGenerator generator, final int index) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(Constants.NAME, videoTitle(index));
+        generator.writeStringField(Constants.YEAR, year());
+        generator.writeNumberField(Constants.DURATION, duration());
+        writeGenres(generator);
+        generator.writeFieldName(Constants.ACTORS);
+        writeCast(generator);
+        generator.writeEndObject();
+    }
+
+    private void writeSerial(final JsonGenerator generator, final int index) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(Constants.NAME, videoTitle(numMovies + index));
+        generator.writeStringField(Constants.YEAR, year());
+        generator.writeFieldName(Constants.CAST);
+        writeCast(generator);
+        writeGenres(generator);
+
+        int seasons = seasonsOf(index);
+        generator.writeNumberField(Constants.NUMBER_OF_SEASONS, seasons);
+        generator.writeArrayFieldStart(Constants.SEASONS);
+        for (int i = 1; i <= seasons; i++) {
+            generator.writeStartObject();
+            generator.writeNumberField(Constants.CURRENT_SEASON, i);
+            generator.writeNumberField(Constants.DURATION, duration() / 2);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeUser(final JsonGenerator generator, final int index) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(Constants.USERNAME, userName(index));
+        generator.writeStringField(Constants.SUBSCRIPTION,
+                random.nextDouble() < PREMIUM_PROBABILITY
+                        ? Constants.USER_PREMIUM : Constants.USER_BASIC);
+
+        Set<Integer> history = new LinkedHashSet<>();
+        if (numMovies + numSerials > 0) {
+            int size = 1 + (int) (MAX_HISTORY * Math.pow(random.nextDouble(), HISTORY_SKEW));
+            history = distinct(size, numMovies + numSerials, videoStride);
+        }
+
+        generator.writeArrayFieldStart(Constants.HISTORY);
+        for (int video : history) {
+            generator.writeStartObject();
+            generator.writeStringField(Constants.NAME, videoTitle(video));
+            generator.writeNumberField(Constants.NUMBER_VIEWS, 1 + random.nextInt(MAX_VIEWS));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        // Favoritele sunt alese doar dintre videoclipurile vazute
+        generator.writeArrayFieldStart(Constants.FAVORITE_MOVIES);
+        for (int video : history) {
+            if (random.nextDouble() < FAVORITE_PROBABILITY) {
+                generator.writeString(videoTitle(video));
+            }
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeAction(final JsonGenerator generator, final int id) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField(Constants.ID, id);
+
+        int kind = random.nextInt(commandWeight + queryWeight + recommendationWeight);
+        if (kind < commandWeight) {
+            writeCommand(generator);
+        } else if (kind < commandWeight + queryWeight) {
+            writeQuery(generator);
+        } else {
+            writeRecommendation(generator);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeCommand(final JsonGenerator generator) throws IOException {
+        String type = COMMANDS[random.nextInt(COMMANDS.length)];
+        int video = popularVideo();
+        generator.writeStringField(Constants.ACTION_TYPE, Constants.COMMAND);
+        generator.writeStringField(Constants.TYPE, type);
+        generator.writeStringField(Constants.USER, randomUser());
+        generator.writeStringField(Constants.TITLE, videoTitle(video));
+        if (type.equals(Constants.RATING)) {
+            generator.writeNumberField(Constants.GRADE, 1 + random.nextInt(MAX_GRADE));
+            if (video >= numMovies) {
+                generator.writeNumberField(Constants.SEASON,
+                        1 + random.nextInt(seasonsOf(video - numMovies)));
+            }
+        }
+    }
+
+    private void writeQuery(final JsonGenerator generator) throws IOException {
+        String object = OBJECTS[random.nextInt(OBJECTS.length)];
+        String criteria = switch (object) {
+            case Constants.ACTORS -> ACTOR_CRITERIA[random.nextInt(ACTOR_CRITERIA.length)];
+            case Constants.USERS -> Constants.NUM_RATINGS;
+            default -> VIDEO_CRITERIA[random.nextInt(VIDEO_CRITERIA.length)];
+        };
+        boolean videos = object.equals(Constants.MOVIES) || object.equals(Constants.SHOWS);
+
+        generator.writeStringField(Constants.ACTION_TYPE, Constants.QUERY);
+        generator.writeStringField(Constants.OBJECT, object);
+        generator.writeNumberField(Constants.NUMBER, 1 + random.nextInt(MAX_QUERY_NUMBER));
+
+        generator.writeObjectFieldStart(Constants.FILTERS);
+        if (videos && random.nextBoolean()) {
+            generator.writeStringField(Constants.YEAR, year());
+        } else {
+            generator.writeNullField(Constants.YEAR);
+        }
+        if (videos && random.nextBoolean()) {
+            generator.writeStringField(Constants.GENRE, GENRES.get(random.nextInt(GENRES.size())));
+        } else {
+            generator.writeNullField(Constants.GENRE);
+        }
+        generator.writeFieldName(Constants.WORDS);
+        if (criteria.equals(Constants.FILTER_DESCRIPTIONS)) {
+            generator.writeStartArray();
+            int first = random.nextInt(WORDS.length);
+            for (int i = random.nextInt(MAX_FILTER_WORDS); i >= 0; i--) {
+                generator.writeString(WORDS[(first + i) % WORDS.length]);
+            }
+            generator.writeEndArray();
+        } else {
+            generator.writeNull();
+        }
+        generator.writeFieldName(Constants.AWARDS);
+        if (criteria.equals(Constants.AWARDS)) {
+            generator.writeStartArray();
+            int first = random.nextInt(AWARDS.length);
+            for (int i = random.nextInt(2); i >= 0; i--) {
+                generator.writeString(AWARDS[(first + i) % AWARDS.length]);
+            }
+            generator.writeEndArray();
+        } else {
+            generator.writeNull();
+        }
+        generator.writeEndObject();
+
+        generator.writeStringField(Constants.SORT, random.nextBoolean()
+                ? Constants.ASCENDING : Constants.DESCENDING);
+        generator.writeStringField(Constants.CRITERIA, criteria);
+    }
+
+    private void writeRecommendation(final JsonGenerator generator) throws IOException {
+        String type = RECOMMENDATIONS[random.nextInt(RECOMMENDATIONS.length)];
+        generator.writeStringField(Constants.ACTION_TYPE, Constants.RECOMMENDATION);
+        generator.writeStringField(Constants.TYPE, type);
+        generator.writeStringField(Constants.USERNAME, randomUser());
+        if (type.equals(Constants.SEARCH)) {
+            generator.writeStringField(Constants.GENRE, GENRES.get(random.nextInt(GENRES.size())));
+        }
+    }
+
+    private void writeGenres(final JsonGenerator generator) throws IOException {
+        generator.writeArrayFieldStart(Constants.GENRES);
+        int first = random.nextInt(GENRES.size());
+        for (int i = random.nextInt(MAX_GENRES); i >= 0; i--) {
+            generator.writeString(GENRES.get((first + i) % GENRES.size()));
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeCast(final JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        if (numActors > 0) {
+            for (int actor : distinct(1 + random.nextInt(MAX_CAST), numActors, 1)) {
+                generator.writeString(actorName(actor));
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Alege indici diferiti, cu probabilitate mai mare pentru cei populari
+     * @param count Cati indici se cer
+     * @param bound Numarul de indici posibili
+     * @param stride Pasul cu care rangul de popularitate devine indice
+     * @return Indicii alesi, in ordinea in care au fost alesi
+     */
+    private Set<Integer> distinct(final int count, final int bound, final int stride) {
+        Set<Integer> chosen = new LinkedHashSet<>();
+        int size = Math.min(count, bound);
+        while (chosen.size() < size) {
+            chosen.add((int) ((long) skewed(bound) * stride % bound));
+        }
+        return chosen;
+    }
+
+    /**
+     * Un rang de popularitate intre 0 si bound - 1, rangurile mici fiind cele mai probabile
+     */
+    private int skewed(final int bound) {
+        return (int) (bound * Math.pow(random.nextDouble(), POPULARITY_SKEW));
+    }
+
+    private int popularVideo() {
+        return (int) ((long) skewed(numMovies + numSerials) * videoStride
+                % (numMovies + numSerials));
+    }
+
+    private String randomUser() {
+        return userName(random.nextInt(Math.max(numUsers, 1)));
+    }
+
+    private String description() {
+        StringBuilder description = new StringBuilder();
+        int length = MIN_DESCRIPTION + random.nextInt(MAX_DESCRIPTION - MIN_DESCRIPTION);
+        for (int i = 0; i < length; i++) {
+            String word = WORDS[skewed(WORDS.length)];
+            if (i == 0) {
+                description.append(Character.toUpperCase(word.charAt(0)))
+                        .append(word.substring(1));
+            } else {
+                description.append(' ').append(word);
+            }
+        }
+        return description.append('.').toString();
+    }
+
+    private String year() {
+        return String.valueOf(FIRST_YEAR + random.nextInt(LAST_YEAR - FIRST_YEAR + 1));
+    }
+
+    private int duration() {
+        return MIN_DURATION + random.nextInt(MAX_DURATION - MIN_DURATION);
+    }
+
+    /**
+     * Numarul de sezoane al unui serial, calculat fara sa fie retinut, pentru ca si
+     * comenzile de rating sa poata alege un sezon existent
+     * @param serial Indicele serialului
+     * @return Numarul de sezoane
+     */
+    private int seasonsOf(final int serial) {
+        return 1 + new SplittableRandom(seed + serial).nextInt(MAX_SEASONS);
+    }
+
+    private String actorName(final int index) {
+        return "Actor " + index;
+    }
+
+    private String userName(final int index) {
+        return "user" + index;
+    }
+
+    private String videoTitle(final int video) {
+        if (video < numMovies) {
+            return "Movie " + video;
+        }
+        return "Serial " + (video - numMovies);
+    }
+
+    /**
+     * Cel mai apropiat pas de 0.618 * size care este prim cu size, astfel incat inmultirea
+     * cu el sa fie o permutare a indicilor
+     */
+    private static int coprimeStride(final int size) {
+        if (size <= 1) {
+            return 1;
+        }
+        final double ratio = 0.618;
+        int stride = Math.max(1, (int) (size * ratio));
+        while (gcd(stride, size) != 1) {
+            stride++;
+        }
+        return stride;
+    }
+
+    private static int gcd(final int a, final int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * Genereaza un fisier de intrare din linia de comanda
+     * @param args fisierul, apoi optional seed-ul, numarul de actori, filme, seriale,
+     *             utilizatori si actiuni, apoi ponderile comenzilor, cautarilor si
+     *             recomandarilor
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: DatasetGenerator <output> [seed] [actors] [movies]"
+                    + " [serials] [users] [actions] [commands queries recommendations]");
+            return;
+        }
+        int position = 1;
+        long seed = args.length > position ? Long.parseLong(args[position]) : 0;
+        int[] counts = {DEFAULT_ACTORS, DEFAULT_MOVIES, DEFAULT_SERIALS, DEFAULT_USERS,
+            DEFAULT_ACTIONS, DEFAULT_COMMANDS, DEFAULT_QUERIES, DEFAULT_RECOMMENDATIONS};
+        for (int i = 0; i < counts.length; i++) {
+            if (args.length > position + 1 + i) {
+                counts[i] = Integer.parseInt(args[position + 1 + i]);
+            }
+        }
+
+        int next = 0;
+        DatasetGenerator generator = new DatasetGenerator(seed, counts[next++], counts[next++],
+                counts[next++], counts[next++], counts[next++]);
+        generator.setActionMix(counts[next++], counts[next++], counts[next]);
+        generator.generate(args[0]);
+    }
+}
@@ -0,0 +1,51 @@
+package fileio;
+
+import actions.Action;
+import actor.Actor;
+import entertainment.Movie;
+import entertainment.Serial;
+import user.User;
+
+import java.util.List;
+
+/**
+ * Contine obiectele construite direct din fisierul de intrare de StreamingInputLoader,
+ * fara copiile intermediare de tip *InputData
+ */
+public final class StreamedInput {
+    private final List<Actor> actors;
+    private final List<User> users;
+    private final List<Movie> movies;
+    private final List<Serial> serials;
+    private final List<Action> actions;
+
+    public StreamedInput(final List<Actor> actors, final List<User> users,
+                         final List<Movie> movies, final List<Serial> serials,
+                         final List<Action> actions) {
+        this.actors = actors;
+        this.users = users;
+        this.movies = movies;
+        this.serials = serials;
+        this.actions = actions;
+    }
+
+    public List<Actor> getActors() {
+        return actors;
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    public List<Serial> getSerials() {
+        return serials;
+    }
+
+    public List<Action> getActions() {
+        return actions;
+    }
+}
@@ -0,0 +1,443 @@
+package fileio;
+
+import actions.Action;
+import actor.Actor;
+import actor.ActorsAwards;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import common.Constants;
+import entertainment.Movie;
+import entertainment.Season;
+import entertainment.Serial;
+import repository.Repository;
+import user.User;
+import utils.Utils;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Citeste fisierul de intrare cu parser-ul de streaming din Jackson si construieste
+ * direct actorii, utilizatorii, filmele, serialele si actiunile, intr-o singura trecere
+ *
+ * Spre deosebire de InputLoader, fisierul nu este tinut in memorie ca arbore JSON si nici
+ * ca liste de obiecte *InputData, fiecare intrare este transformata imediat in obiectul
+ * final. Rezultatele sunt aceleasi cu cele obtinute prin InputLoader.
+ */
+public final class StreamingInputLoader {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    /**
+     * Calea catre fisierul de intrare
+     */
+    private final String inputPath;
+
+    private List<Actor> actors;
+    private List<User> users;
+    private List<Movie> movies;
+    private List<Serial> serials;
+    private List<Action> actions;
+    /**
+     * Actiunile citite inaintea bazei de date, pentru care inca nu se stie numarul
+     * implicit de rezultate al unui query
+     */
+    private List<ActionFields> pendingActions;
+    private boolean databaseRead;
+
+    public StreamingInputLoader(final String inputPath) {
+        this.inputPath = inputPath;
+    }
+
+    public String getInputPath() {
+        return inputPath;
+    }
+
+    /**
+     * Citeste fisierul de intrare
+     * @return Obiectele construite din fisier
+     */
+    public StreamedInput readData() {
+        actors = new ArrayList<>();
+        users = new ArrayList<>();
+        movies = new ArrayList<>();
+        serials = new ArrayList<>();
+        actions = new ArrayList<>();
+        pendingActions = new ArrayList<>();
+        databaseRead = false;
+
+        // Se foloseste tot un FileReader, ca fisierul sa fie decodat la fel ca in InputLoader
+        try (JsonParser parser = FACTORY.createParser(new FileReader(inputPath))) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case Constants.DATABASE -> readDatabase(parser);
+                        case Constants.ACTIONS -> readActions(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        databaseRead = true;
+        for (ActionFields fields : pendingActions) {
+            addAction(fields);
+        }
+        pendingActions = null;
+
+        return new StreamedInput(actors, users, movies, serials, actions);
+    }
+
+    /**
+     * Citeste obiectul care contine baza de date
+     * @param parser Parser-ul pozitionat pe inceputul obiectului
+     */
+    private void readDatabase(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                switch (field) {
+                    case Constants.ACTORS -> actors.add(readActor(parser));
+                    case Constants.USERS -> users.add(readUser(parser));
+                    case Constants.MOVIES -> movies.add(readMovie(parser));
+                    case Constants.SHOWS -> serials.add(readSerial(parser));
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        databaseRead = true;
+    }
+
+    private Actor readActor(final JsonParser parser) throws IOException {
+        String name = null;
+        String description = null;
+        ArrayList<String> filmography = null;
+        Map<ActorsAwards, Integer> awards = new LinkedHashMap<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case Constants.NAME -> name = readText(parser);
+                case Constants.DESCRIPTION -> description = readText(parser);
+                case Constants.FILMOGRAPHY -> filmography = readStringList(parser);
+                case Constants.AWARDS -> readAwards(parser, awards);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Actor(new ActorInputData(name, description, filmography, awards));
+    }
+
+    private void readAwards(final JsonParser parser, final Map<ActorsAwards, Integer> awards)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String awardType = null;
+            String numberOfAwards = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case Constants.AWARD_TYPE -> awardType = readText(parser);
+                    case Constants.NUMBER_OF_AWARDS -> numberOfAwards = readText(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            awards.put(Utils.stringToAwards(awardType), Integer.parseInt(numberOfAwards));
+        }
+    }
+
+    private User readUser(final JsonParser parser) throws IOException {
+        String username = null;
+        String subscription = null;
+        Map<String, Integer> history = new LinkedHashMap<>();
+        ArrayList<String> favorites = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case Constants.USERNAME -> username = readText(parser);
+                case Constants.SUBSCRIPTION -> subscription = readText(parser);
+                case Constants.HISTORY -> readHistory(parser, history);
+                case Constants.FAVORITE_MOVIES -> favorites = readStringList(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new User(new UserInputData(username, subscription, history, favorites));
+    }
+
+    private void readHistory(final JsonParser parser, final Map<String, Integer> history)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String title = null;
+            String views = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case Constants.NAME -> title = readText(parser);
+                    case Constants.NUMBER_VIEWS -> views = readText(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            history.put(title, Integer.parseInt(views));
+        }
+    }
+
+    private Movie readMovie(final JsonParser parser) throws IOException {
+        String title = null;
+        ArrayList<String> cast = null;
+        ArrayList<String> genres = null;
+        String year = null;
+        String duration = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case Constants.NAME -> title = readText(parser);
+                case Constants.ACTORS -> cast = readStringList(parser);
+                case Constants.GENRES -> genres = readStringList(parser);
+                case Constants.YEAR -> year = readText(parser);
+                case Constants.DURATION -> duration = readText(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Movie(new MovieInputData(title, cast, genres, Integer.parseInt(year),
+                Integer.parseInt(duration)));
+    }
+
+    private Serial readSerial(final JsonParser parser) throws IOException {
+        String title = null;
+        ArrayList<String> cast = null;
+        ArrayList<String> genres = null;
+        int numberOfSeasons = 0;
+        ArrayList<Season> seasons = null;
+        String year = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case Constants.NAME -> title = readText(parser);
+                case Constants.CAST -> cast = readStringList(parser);
+                case Constants.GENRES -> genres = readStringList(parser);
+                case Constants.NUMBER_OF_SEASONS -> numberOfSeasons = (int) parser.getLongValue();
+                case Constants.SEASONS -> seasons = readSeasons(parser);
+                case Constants.YEAR -> year = readText(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Serial(new SerialInputData(title, cast, genres, numberOfSeasons, seasons,
+                Integer.parseInt(year)));
+    }
+
+    private ArrayList<Season> readSeasons(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        ArrayList<Season> seasons = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int currentSeason = 0;
+            int duration = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case Constants.CURRENT_SEASON -> currentSeason = (int) parser.getLongValue();
+                    case Constants.DURATION -> duration = (int) parser.getLongValue();
+                    default -> parser.skipChildren();
+                }
+            }
+            seasons.add(new Season(currentSeason, duration));
+        }
+        return seasons;
+    }
+
+    /**
+     * Citeste lista de actiuni
+     * @param parser Parser-ul pozitionat pe inceputul listei
+     */
+    private void readActions(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            ActionFields fields = readActionFields(parser);
+            if (databaseRead) {
+                addAction(fields);
+            } else {
+                pendingActions.add(fields);
+            }
+        }
+    }
+
+    private ActionFields readActionFields(final JsonParser parser) throws IOException {
+        ActionFields fields = new ActionFields();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case Constants.ID -> fields.actionId = readText(parser);
+                case Constants.ACTION_TYPE -> fields.actionType = readText(parser);
+                case Constants.TYPE -> fields.type = readText(parser);
+                case Constants.USER -> fields.user = readText(parser);
+                case Constants.USERNAME -> fields.username = readText(parser);
+                case Constants.TITLE -> fields.title = readText(parser);
+                case Constants.GRADE -> fields.grade = readText(parser);
+                case Constants.SEASON -> fields.season = readText(parser);
+                case Constants.OBJECT -> fields.objectType = readText(parser);
+                case Constants.SORT -> fields.sortType = readText(parser);
+                case Constants.CRITERIA -> fields.criteria = readText(parser);
+                case Constants.NUMBER -> fields.number = readText(parser);
+                case Constants.GENRE -> fields.genre = readText(parser);
+                case Constants.FILTERS -> readFilters(parser, fields);
+                default -> parser.skipChildren();
+            }
+        }
+        return fields;
+    }
+
+    private void readFilters(final JsonParser parser, final ActionFields fields)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case Constants.GENRE -> fields.filterGenre = readText(parser);
+                case Constants.YEAR -> fields.filterYear = readText(parser);
+                case Constants.AWARDS -> fields.awards = readStringList(parser);
+                case Constants.WORDS -> fields.words = readStringList(parser);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Construieste actiunea la fel ca InputLoader si o adauga in lista de actiuni,
+     * folosind fabrica de actiuni a bazei de date
+     * @param fields Campurile citite ale actiunii
+     */
+    private void addAction(final ActionFields fields) {
+        if (fields.actionType == null) {
+            return;
+        }
+        int actionId = Integer.parseInt(fields.actionId);
+        ActionInputData input = switch (fields.actionType) {
+            case Constants.COMMAND -> new ActionInputData(actionId, fields.actionType,
+                    fields.type, fields.user, fields.title,
+                    fields.grade != null ? Double.parseDouble(fields.grade) : 0,
+                    fields.season != null ? Integer.parseInt(fields.season) : 0);
+            case Constants.QUERY -> new ActionInputData(actionId, fields.actionType,
+                    fields.objectType, fields.filterGenre, fields.sortType, fields.criteria,
+                    fields.filterYear,
+                    fields.number != null ? Integer.parseInt(fields.number) : defaultNumber(),
+                    fields.words, fields.awards);
+            case Constants.RECOMMENDATION -> new ActionInputData(actionId, fields.actionType,
+                    fields.type, fields.username, fields.genre);
+            default -> null;
+        };
+        if (input == null) {
+            return;
+        }
+
+        Action action = Repository.createAction(input);
+        if (action != null) {
+            actions.add(action);
+        }
+    }
+
+    /**
+     * Numarul implicit de rezultate ale unui query, la fel ca in InputLoader
+     * @return Numarul implicit
+     */
+    private int defaultNumber() {
+        return Math.max(Math.max(movies.size() + serials.size(), users.size()),
+                actors.size());
+    }
+
+    /**
+     * Intoarce valoarea curenta ca text, null pentru valoarea null din JSON
+     * @param parser Parser-ul pozitionat pe valoare
+     * @return Textul valorii
+     */
+    private static String readText(final JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return parser.getText();
+    }
+
+    /**
+     * Citeste o lista de siruri de caractere
+     * @param parser Parser-ul pozitionat pe inceputul listei
+     * @return Lista, sau null daca valoarea din JSON este null
+     */
+    private static ArrayList<String> readStringList(final JsonParser parser)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        ArrayList<String> list = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            list.add(readText(parser));
+            parser.skipChildren();
+        }
+        return list;
+    }
+
+    /**
+     * Campurile unei actiuni, asa cum apar in fisier
+     */
+    private static final class ActionFields {
+        private String actionId;
+        private String actionType;
+        private String type;
+        private String user;
+        private String username;
+        private String title;
+        private String grade;
+        private String season;
+        private String objectType;
+        private String sortType;
+        private String criteria;
+        private String number;
+        private String genre;
+        private String filterGenre;
+        private String filterYear;
+        private ArrayList<String> words;
+        private ArrayList<String> awards;
+    }
+}
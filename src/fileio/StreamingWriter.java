@@ -0,0 +1,65 @@
+package fileio;
+
+import common.Constants;
+import org.json.simple.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Scrie rezultatele actiunilor in fisier pe masura ce sunt calculate
+ *
+ * Fiecare rezultat este serializat si trimis in buffer-ul fisierului imediat, fara sa se
+ * construiasca intai un JSONArray cu toate rezultatele. Fisierul obtinut este identic,
+ * octet cu octet, cu cel scris de Writer.closeJSON.
+ */
+public final class StreamingWriter implements Closeable {
+    /**
+     * Fisierul in care se scriu rezultatele
+     */
+    private final BufferedWriter file;
+    /**
+     * Daca inca nu s-a scris niciun rezultat, pentru separatorul dintre rezultate
+     */
+    private boolean empty;
+
+    public StreamingWriter(final String path) throws IOException {
+        this.file = new BufferedWriter(new FileWriter(path));
+        this.empty = true;
+        file.write('[');
+    }
+
+    /**
+     * Scrie rezultatul unei actiuni, in acelasi format ca Writer.writeFile
+     * @param id Numarul actiunii
+     * @param message Rezultatul actiunii
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    @SuppressWarnings("unchecked")
+    public void writeResult(final int id, final String message) throws IOException {
+        JSONObject object = new JSONObject();
+        object.put(Constants.ID_STRING, id);
+        object.put(Constants.MESSAGE, message);
+
+        if (!empty) {
+            file.write(',');
+        }
+        empty = false;
+        file.write(object.toJSONString());
+    }
+
+    /**
+     * Inchide lista de rezultate si fisierul
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            file.write(']');
+        } finally {
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package main;
+
+import common.Constants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Proceseaza mai multe fisiere de intrare in paralel
+ *
+ * Fiecare fisier este procesat de Main.action cu propria baza de date, pe unul dintre
+ * firele de executie ale unui pool de dimensiune fixa. Fisierele nu au nimic in comun,
+ * de aceea rezultatul fiecaruia este acelasi ca la procesarea secventiala.
+ *
+ * Cand mai multe fisiere sunt procesate in acelasi timp, actiunile fiecarui fisier
+ * ruleaza secvential: procesoarele sunt deja ocupate de celelalte fisiere, iar un pool
+ * de actiuni pentru fiecare fisier ar crea pana la numarul de procesoare la patrat de
+ * fire de executie. Un singur fisier isi ruleaza actiunile ca de obicei, in paralel.
+ */
+public final class BatchRunner {
+    /**
+     * Numarul de fire de executie din pool
+     */
+    private final int threads;
+
+    /**
+     * @param threads Numarul de fire de executie, 0 pentru numarul de procesoare
+     */
+    public BatchRunner(final int threads) {
+        if (threads > 0) {
+            this.threads = threads;
+        } else {
+            this.threads = Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * Proceseaza fisierele si asteapta terminarea tuturor
+     * @param files Fisierele de intrare, impreuna cu fisierul de iesire al fiecaruia
+     * @throws IOException prima eroare de citire / scriere, dupa ce toate fisierele
+     *                     au fost procesate
+     */
+    public void run(final Map<String, String> files) throws IOException {
+        int poolSize = Math.min(threads, Math.max(files.size(), 1));
+        int actionThreads = poolSize > 1 ? 1 : Constants.ACTION_THREADS;
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                results.add(pool.submit(() -> {
+                    Main.action(file.getKey(), file.getValue(), actionThreads);
+                    return null;
+                }));
+            }
+
+            IOException error = null;
+            for (Future<Void> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException exception) {
+                        if (error == null) {
+                            error = exception;
+                        }
+                    } else if (e.getCause() instanceof RuntimeException exception) {
+                        throw exception;
+                    } else {
+                        throw new IllegalStateException(e.getCause());
+                    }
+                }
+            }
+            if (error != null) {
+                throw error;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while processing input files", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -5,6 +5,8 @@ import checker.Checker;
 import common.Constants;
 import fileio.Input;
 import fileio.InputLoader;
+import fileio.StreamingInputLoader;
+import fileio.StreamingWriter;
 import fileio.Writer;
 import org.json.simple.JSONArray;
 import repository.Repository;
@@ -14,6 +16,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -43,15 +47,17 @@ public final class Main {
         Checker checker = new Checker();
         checker.deleteFiles(outputDirectory.listFiles());
 
+        Map<String, String> files = new LinkedHashMap<>();
         for (File file : Objects.requireNonNull(directory.listFiles())) {
 
             String filepath = Constants.OUT_PATH + file.getName();
             File out = new File(filepath);
             boolean isCreated = out.createNewFile();
             if (isCreated) {
-                action(file.getAbsolutePath(), filepath);
+                files.put(file.getAbsolutePath(), filepath);
             }
         }
+        new BatchRunner(Constants.BATCH_THREADS).run(files);
 
         checker.iterateFiles(Constants.RESULT_PATH, Constants.REF_PATH, Constants.TESTS_PATH);
         Checkstyle test = new Checkstyle();
@@ -65,16 +71,40 @@ public final class Main {
      */
     public static void action(final String filePath1,
                               final String filePath2) throws IOException {
-        InputLoader inputLoader = new InputLoader(filePath1);
-        Input input = inputLoader.readData();
+        action(filePath1, filePath2, Constants.ACTION_THREADS);
+    }
+
+    /**
+     * Proceseaza un fisier, cu un numar dat de fire de executie pentru actiuni
+     * @param filePath1 for input file
+     * @param filePath2 for output file
+     * @param actionThreads Numarul de fire de executie pentru actiuni, ca la ActionScheduler
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void action(final String filePath1, final String filePath2,
+                              final int actionThreads) throws IOException {
+        Repository repo;
+        if (Constants.STREAMING_INPUT) {
+            StreamingInputLoader inputLoader = new StreamingInputLoader(filePath1);
+            repo = new Repository(inputLoader.readData());
+        } else {
+            InputLoader inputLoader = new InputLoader(filePath1);
+            Input input = inputLoader.readData();
+            repo = new Repository(input);
+        }
+        repo.setActionThreads(actionThreads);
 
-        Writer fileWriter = new Writer(filePath2);
-        JSONArray arrayResult = new JSONArray();
+        if (Constants.STREAMING_OUTPUT) {
+            try (StreamingWriter fileWriter = new StreamingWriter(filePath2)) {
+                repo.runActionsToStream(fileWriter);
+            }
+        } else {
+            Writer fileWriter = new Writer(filePath2);
+            JSONArray arrayResult = new JSONArray();
 
-        Repository.initRepo(input);
-        Repository repo = Repository.getRepo();
-        repo.runActionsToJSON(fileWriter, arrayResult);
+            repo.runActionsToJSON(fileWriter, arrayResult);
 
-        fileWriter.closeJSON(arrayResult);
+            fileWriter.closeJSON(arrayResult);
+        }
     }
 }
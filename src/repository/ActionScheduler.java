@@ -0,0 +1,132 @@
+package repository;
+
+import actions.Action;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Ruleaza actiunile unei baze de date, in paralel acolo unde rezultatul nu se schimba
+ *
+ * Lista de actiuni este impartita in epoci la fiecare comanda, singurele actiuni care
+ * modifica baza de date. Actiunile dintr-o epoca doar citesc, iar baza de date nu se
+ * schimba pe durata epocii, de aceea ele ruleaza in paralel si vad aceeasi stare ca la
+ * rularea secventiala. Comanda care inchide epoca ruleaza dupa terminarea tuturor
+ * actiunilor din epoca, pe firul de executie apelant. Rezultatele sunt trimise mai
+ * departe in ordinea din lista de actiuni.
+ */
+public final class ActionScheduler implements Closeable {
+    /**
+     * Primeste rezultatele actiunilor, in ordinea din lista de actiuni
+     */
+    public interface ResultConsumer {
+        /**
+         * Primeste rezultatul unei actiuni
+         * @param index Pozitia actiunii in lista
+         * @param result Rezultatul actiunii
+         * @throws IOException in case of exceptions to reading / writing
+         */
+        void accept(int index, String result) throws IOException;
+    }
+
+    /**
+     * Pool-ul pe care ruleaza actiunile unei epoci, null daca actiunile ruleaza secvential
+     */
+    private final ExecutorService pool;
+
+    /**
+     * @param threads Numarul de fire de executie, 0 pentru numarul de procesoare si 1 pentru
+     *                rularea secventiala a actiunilor
+     */
+    public ActionScheduler(final int threads) {
+        int size = threads;
+        if (size <= 0) {
+            size = Runtime.getRuntime().availableProcessors();
+        }
+        if (size > 1) {
+            pool = Executors.newFixedThreadPool(size);
+        } else {
+            pool = null;
+        }
+    }
+
+    /**
+     * Ruleaza actiunile asupra bazei de date
+     * @param repo Baza de date
+     * @param actions Actiunile, in ordinea din fisierul de intrare
+     * @param consumer Primeste rezultatul fiecarei actiuni, in aceeasi ordine
+     * @throws IOException daca rezultatul unei actiuni nu a putut fi scris
+     */
+    public void run(final Repository repo, final List<Action> actions,
+                    final ResultConsumer consumer) throws IOException {
+        int epochStart = 0;
+        for (int i = 0; i < actions.size(); i++) {
+            Action action = actions.get(i);
+            if (!action.isReadOnly()) {
+                runEpoch(repo, actions.subList(epochStart, i), epochStart, consumer);
+                consumer.accept(i, action.runAction(repo));
+                epochStart = i + 1;
+            }
+        }
+        runEpoch(repo, actions.subList(epochStart, actions.size()), epochStart, consumer);
+    }
+
+    /**
+     * Ruleaza actiunile dintr-o epoca, toate doar citesc baza de date
+     * @param repo Baza de date
+     * @param epoch Actiunile din epoca
+     * @param offset Pozitia primei actiuni din epoca in lista de actiuni
+     * @param consumer Primeste rezultatele
+     * @throws IOException daca rezultatul unei actiuni nu a putut fi scris
+     */
+    private void runEpoch(final Repository repo, final List<Action> epoch, final int offset,
+                          final ResultConsumer consumer) throws IOException {
+        if (pool == null || epoch.size() < 2) {
+            for (int i = 0; i < epoch.size(); i++) {
+                consumer.accept(offset + i, epoch.get(i).runAction(repo));
+            }
+            return;
+        }
+
+        List<Future<String>> results = new ArrayList<>(epoch.size());
+        for (Action action : epoch) {
+            Callable<String> task = () -> action.runAction(repo);
+            results.add(pool.submit(task));
+        }
+        try {
+            for (int i = 0; i < results.size(); i++) {
+                consumer.accept(offset + i, results.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running actions", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException exception) {
+                throw exception;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // La o eroare, actiunile ramase nu mai sunt necesare
+            for (Future<String> result : results) {
+                result.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Opreste firele de executie ale pool-ului
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
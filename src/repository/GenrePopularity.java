@@ -0,0 +1,154 @@
+package repository;
+
+import entertainment.Video;
+import utils.TitleDictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Popularitatea genurilor, folosita de recomandarea popular
+ *
+ * Popularitatea unui gen este suma vizionarilor videoclipurilor din acel gen, iar genurile
+ * sunt tinute in ordinea descrescatoare a popularitatii. La popularitate egala, ordinea
+ * este cea in care un HashMap cu aceleasi genuri, adaugate in ordinea din baza de date,
+ * isi parcurge cheile, ca in cazul histogramei construite la fiecare recomandare; aceasta
+ * ordine nu depinde de vizionari, deci se calculeaza o singura data. La fiecare vizionare
+ * genurile videoclipului vizionat urca in clasament doar cat este nevoie.
+ *
+ * Pentru fiecare gen se tin si videoclipurile lui, in ordinea din baza de date.
+ */
+public final class GenrePopularity {
+    /**
+     * Vizionarile fiecarui gen; genurile sunt numerotate in ordinea folosita la
+     * popularitate egala
+     */
+    private final int[] views;
+    /**
+     * Genurile in ordinea descrescatoare a popularitatii si locul fiecarui gen in ea
+     */
+    private final int[] ranking;
+    private final int[] rankOf;
+    private final List<List<Video>> videosByGenre;
+    /**
+     * Genurile fiecarui titlu, dupa id; un gen apare de mai multe ori daca titlul apare
+     * de mai multe ori in baza de date sau daca genul se repeta in lista videoclipului
+     */
+    private final int[][] genresByTitle;
+
+    /**
+     * Construieste clasamentul genurilor
+     * @param allVideos Toate videoclipurile, filmele urmate de seriale
+     * @param titleIds Dictionarul de titluri al bazei de date
+     * @param videoViews Numarul de vizionari al fiecarui titlu, dupa id
+     */
+    GenrePopularity(final List<Video> allVideos, final TitleDictionary titleIds,
+                    final int[] videoViews) {
+        // Cheile sunt adaugate ca in histograma de la recomandare, pentru aceeasi ordine
+        Map<String, Integer> histogram = new HashMap<>();
+        for (Video video : allVideos) {
+            for (String genre : video.getGenres()) {
+                histogram.putIfAbsent(genre, 0);
+            }
+        }
+        String[] genres = histogram.keySet().toArray(new String[0]);
+        Map<String, Integer> genreIndex = new HashMap<>();
+        for (int i = 0; i < genres.length; i++) {
+            genreIndex.put(genres[i], i);
+        }
+
+        views = new int[genres.length];
+        videosByGenre = new ArrayList<>();
+        for (int i = 0; i < genres.length; i++) {
+            videosByGenre.add(new ArrayList<>());
+        }
+        genresByTitle = new int[titleIds.size()][];
+        Arrays.fill(genresByTitle, new int[0]);
+
+        for (Video video : allVideos) {
+            int titleId = titleIds.find(video.getTitle());
+            int titleViews = titleId < videoViews.length ? videoViews[titleId] : 0;
+            int[] titleGenres = genresByTitle[titleId];
+            int count = titleGenres.length;
+            titleGenres = Arrays.copyOf(titleGenres, count + video.getGenres().size());
+
+            for (String genre : video.getGenres()) {
+                int index = genreIndex.get(genre);
+                views[index] += titleViews;
+                titleGenres[count++] = index;
+                List<Video> genreVideos = videosByGenre.get(index);
+                if (genreVideos.isEmpty() || genreVideos.get(genreVideos.size() - 1) != video) {
+                    genreVideos.add(video);
+                }
+            }
+            genresByTitle[titleId] = titleGenres;
+        }
+
+        ranking = new int[genres.length];
+        rankOf = new int[genres.length];
+        for (int i = 0; i < genres.length; i++) {
+            ranking[i] = i;
+            rankOf[i] = i;
+            moveUp(i);
+        }
+    }
+
+    /**
+     * Inregistreaza o vizionare a unui titlu
+     * @param titleId Id-ul titlului vizionat
+     */
+    void addView(final int titleId) {
+        if (titleId >= genresByTitle.length) {
+            return;
+        }
+        for (int genre : genresByTitle[titleId]) {
+            views[genre]++;
+            moveUp(genre);
+        }
+    }
+
+    /**
+     * Urca un gen in clasament pana ajunge dupa toate genurile care il preced
+     */
+    private void moveUp(final int genre) {
+        int rank = rankOf[genre];
+        while (rank > 0 && precedes(genre, ranking[rank - 1])) {
+            ranking[rank] = ranking[rank - 1];
+            rankOf[ranking[rank]] = rank;
+            rank--;
+        }
+        ranking[rank] = genre;
+        rankOf[genre] = rank;
+    }
+
+    /**
+     * Verifica daca un gen trebuie sa fie inaintea altuia in clasament
+     */
+    private boolean precedes(final int genre, final int other) {
+        if (views[genre] != views[other]) {
+            return views[genre] > views[other];
+        }
+        return genre < other;
+    }
+
+    /**
+     * Intoarce primul videoclip care indeplineste o conditie, cautand in genuri in
+     * ordinea popularitatii si in fiecare gen in ordinea din baza de date
+     * @param condition Conditia
+     * @return Videoclipul, sau null daca niciun videoclip nu indeplineste conditia
+     */
+    public Video first(final Predicate<Video> condition) {
+        for (int genre : ranking) {
+            for (Video video : videosByGenre.get(genre)) {
+                if (condition.test(video)) {
+                    return video;
+                }
+            }
+        }
+        return null;
+    }
+}
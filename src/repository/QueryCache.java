@@ -0,0 +1,111 @@
+package repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Retine rezultatele query-urilor, pentru query-urile identice care se repeta intre comenzi
+ *
+ * Fiecare categorie de date pe care o pot modifica comenzile are o versiune, care creste
+ * la fiecare modificare. Un rezultat este retinut impreuna cu versiunile datelor de care
+ * depinde si este refolosit doar daca niciuna dintre acestea nu s-a schimbat intre timp,
+ * astfel o comanda de view nu invalideaza, de exemplu, query-urile dupa rating.
+ *
+ * Versiunile sunt modificate doar de comenzi, care nu ruleaza in paralel cu query-urile,
+ * iar rezultatele pot fi citite si adaugate in paralel.
+ *
+ * Numarul de rezultate retinute este limitat; cand limita este atinsa, rezultatele vechi
+ * sunt sterse si se recalculeaza la nevoie.
+ */
+public final class QueryCache {
+    /**
+     * Categoriile de date modificate de comenzi
+     */
+    public enum Data {
+        /**
+         * Rating-urile videoclipurilor, ale actorilor si numarul de rating-uri date de
+         * utilizatori, modificate de comanda rating
+         */
+        RATINGS,
+        /**
+         * Numarul de vizionari, modificat de comanda view
+         */
+        VIEWS,
+        /**
+         * Listele de favorite, modificate de comanda favorite
+         */
+        FAVORITES
+    }
+
+    /**
+     * Un rezultat retinut, impreuna cu versiunile datelor din momentul calcularii lui
+     */
+    private static final class Entry {
+        private final String result;
+        private final int[] versions;
+
+        Entry(final String result, final int[] versions) {
+            this.result = result;
+            this.versions = versions;
+        }
+    }
+
+    /**
+     * Numarul maxim de rezultate retinute
+     */
+    private static final int MAX_ENTRIES = 1024;
+
+    private final int[] versions = new int[Data.values().length];
+    private final Map<List<Object>, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Intoarce rezultatul retinut pentru query, sau il calculeaza daca nu exista ori daca
+     * datele de care depinde s-au schimbat
+     * @param key Parametrii query-ului, in aceeasi ordine pentru toate query-urile
+     * @param dependencies Datele de care depinde rezultatul query-ului
+     * @param query Calculeaza rezultatul query-ului
+     * @return Rezultatul query-ului
+     */
+    public String get(final List<Object> key, final Set<Data> dependencies,
+                      final Supplier<String> query) {
+        Entry entry = entries.get(key);
+        if (entry != null && isCurrent(entry, dependencies)) {
+            return entry.result;
+        }
+
+        String result = query.get();
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(result, versions.clone()));
+        return result;
+    }
+
+    /**
+     * Sterge toate rezultatele retinute
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Marcheaza o categorie de date ca modificata, rezultatele care depind de ea nu mai
+     * sunt refolosite
+     * @param data Categoria de date modificata
+     */
+    public void invalidate(final Data data) {
+        versions[data.ordinal()]++;
+    }
+
+    private boolean isCurrent(final Entry entry, final Set<Data> dependencies) {
+        for (Data data : dependencies) {
+            if (entry.versions[data.ordinal()] != versions[data.ordinal()]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -3,7 +3,14 @@ package repository;
 import org.json.simple.JSONArray;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 
 import fileio.Input;
@@ -12,6 +19,8 @@ import fileio.UserInputData;
 import fileio.MovieInputData;
 import fileio.SerialInputData;
 import fileio.ActionInputData;
+import fileio.StreamedInput;
+import fileio.StreamingWriter;
 import fileio.Writer;
 
 import common.Constants;
@@ -27,33 +36,130 @@ import actions.Recommendation;
 import user.User;
 
 import actor.Actor;
+import actor.WordMatcher;
+
+import utils.IntIntMap;
+import utils.TitleDictionary;
 
 import entertainment.Video;
 import entertainment.Movie;
 import entertainment.Serial;
 
 /**
- * Clasa singleton care reprezinta baza de date
+ * Clasa care reprezinta baza de date
  * Stocheaza informatii despre actori, utilizatori, filme, seriale
  * si actiunile care se vor executa asupra acestora
+ *
+ * Fiecare fisier de intrare are propria baza de date, astfel mai multe fisiere pot fi
+ * procesate in acelasi timp, pe fire de executie diferite. Intr-o baza de date, comenzile
+ * ruleaza singure, iar actiunile care doar citesc pot rula in paralel (ActionScheduler).
  */
 public final class Repository {
-    private static final Repository INSTANCE = new Repository();
-
-    private static List<Actor> actors;
-    private static List<User> users;
-    private static List<Movie> movies;
-    private static List<Serial> serials;
+    private List<Actor> actors;
+    private List<User> users;
+    private List<Movie> movies;
+    private List<Serial> serials;
 
     /**
      * O lista cu toate actiunile care se executa asupra bazei de date
      * Vezi lantul de mosteniri incepand cu clasa Action
      */
-    private static List<Action> actions;
+    private List<Action> actions;
 
-    public static Repository getRepo() {
-        return Repository.INSTANCE;
-    }
+    /**
+     * Indecsi dupa numele utilizatorului si dupa titlul videoclipului, sunt reconstruiti
+     * la fiecare initializare a bazei de date si pastreaza ordinea din baza de date
+     */
+    private Map<String, User> usersByName;
+    private Map<String, Movie> moviesByTitle;
+    private Map<String, Serial> serialsByTitle;
+    /**
+     * Index comun pentru filme si seriale, tipul videoclipului este dat de clasa
+     * obiectului (Movie sau Serial); la titluri comune are prioritate filmul, ca si
+     * in getVideo
+     */
+    private Map<String, Video> videosByTitle;
+
+    /**
+     * Id-urile numerice ale titlurilor: intai filmele si serialele, in ordinea din baza de
+     * date, apoi celelalte titluri din istoricul utilizatorilor si din comenzile de view
+     */
+    private TitleDictionary titleIds;
+
+    /**
+     * Numarul total de vizionari pentru fiecare titlu, dupa id, calculat din istoricul
+     * utilizatorilor la initializare si actualizat la fiecare comanda de view
+     */
+    private int[] videoViews;
+
+    /**
+     * Numarul de utilizatori care au fiecare titlu in lista de favorite, dupa id, folosit
+     * de query-ul de favorite, si numarul de aparitii ale titlului in listele de favorite,
+     * folosit de recomandarea favorite; cele doua difera doar daca lista de favorite a
+     * unui utilizator din fisierul de intrare contine un titlu de mai multe ori. Ambele
+     * se actualizeaza la comanda favorite
+     */
+    private int[] videoFavorites;
+    private int[] videoFavoriteEntries;
+
+    /**
+     * Filmele si serialele pe coloane, folosite de query-urile asupra videoclipurilor
+     */
+    private VideoCatalog movieCatalog;
+    private VideoCatalog serialCatalog;
+
+    /**
+     * Toate videoclipurile, filmele urmate de serialele, in ordinea din baza de date
+     */
+    private List<Video> allVideos;
+
+    /**
+     * Clasamentul genurilor dupa vizionari, folosit de recomandarea popular; se
+     * actualizeaza la comenzile de vizionare
+     */
+    private GenrePopularity genrePopularity;
+
+    /**
+     * Toate videoclipurile in ordinea descrescatoare a rating-ului, folosit de
+     * recomandarea best unseen; se actualizeaza la comenzile de rating
+     */
+    private VideoRanking videosByRating;
+
+    /**
+     * Videoclipurile aflate in lista de favorite a cel putin unui utilizator, in ordinea
+     * descrescatoare a numarului de favorite, folosit de recomandarea favorite; se
+     * actualizeaza la comenzile de favorite
+     */
+    private VideoRanking videosByFavorites;
+
+    /**
+     * Pentru fiecare gen, videoclipurile din gen in ordinea crescatoare a rating-ului si
+     * apoi a titlului, folosit de recomandarea search; se actualizeaza la comenzile de
+     * rating
+     */
+    private Map<String, VideoRanking> videosByGenreRating;
+
+    /**
+     * Actorii care au in filmografie fiecare titlu, construit din filmografia actorilor;
+     * la schimbarea rating-ului unui videoclip se recalculeaza doar acesti actori
+     */
+    private Map<String, List<Actor>> actorsByVideo;
+
+    /**
+     * Index invers de la cuvintele din descrierea actorilor la actori, fiecare lista
+     * de actori este in ordinea din baza de date
+     */
+    private Map<String, List<Actor>> actorsByDescriptionWord;
+
+    /**
+     * Numarul de fire de executie pe care ruleaza actiunile, ca la ActionScheduler
+     */
+    private int actionThreads = Constants.ACTION_THREADS;
+
+    /**
+     * Rezultatele query-urilor, invalidate de comenzile care modifica datele
+     */
+    private final QueryCache queryCache = new QueryCache();
 
     public List<User> getUsers() {
         return users;
@@ -71,14 +177,56 @@ public final class Repository {
         return serials;
     }
 
-    private Repository() {
+    public VideoCatalog getMovieCatalog() {
+        return movieCatalog;
+    }
+
+    public VideoCatalog getSerialCatalog() {
+        return serialCatalog;
+    }
+
+    public VideoRanking getVideosByRating() {
+        return videosByRating;
+    }
+
+    public VideoRanking getVideosByFavorites() {
+        return videosByFavorites;
+    }
+
+    /**
+     * Intoarce videoclipurile unui gen in ordinea crescatoare a rating-ului si apoi a
+     * titlului
+     * @param genre Genul
+     * @return Clasamentul videoclipurilor din gen, sau null daca niciun videoclip nu are
+     * genul dat
+     */
+    public VideoRanking getVideosByGenreRating(final String genre) {
+        return videosByGenreRating.get(genre);
+    }
+
+    public GenrePopularity getGenrePopularity() {
+        return genrePopularity;
+    }
+
+    /**
+     * Schimba numarul de fire de executie pe care ruleaza actiunile, de exemplu 1 cand
+     * mai multe fisiere sunt procesate in paralel
+     * @param actionThreads Numarul de fire de executie, 0 pentru numarul de procesoare si
+     *                      1 pentru rularea secventiala
+     */
+    public void setActionThreads(final int actionThreads) {
+        this.actionThreads = actionThreads;
+    }
+
+    public QueryCache getQueryCache() {
+        return queryCache;
     }
 
     /**
      * Initializeaza toti membrii clasei
      * @param input Un obiect care contine toate datele citite dintr-un fisier
      */
-    public static void initRepo(final Input input) {
+    public Repository(final Input input) {
         actors = new ArrayList<>();
         for (ActorInputData actorInput : input.getActors()) {
             actors.add(new Actor(actorInput));
@@ -100,6 +248,198 @@ public final class Repository {
         }
 
         loadActions(input);
+        initIndexes();
+    }
+
+    /**
+     * Initializeaza toti membrii clasei cu obiectele construite de StreamingInputLoader
+     * @param input Obiectele citite din fisier
+     */
+    public Repository(final StreamedInput input) {
+        actors = input.getActors();
+        users = input.getUsers();
+        movies = input.getMovies();
+        serials = input.getSerials();
+        actions = input.getActions();
+        initIndexes();
+    }
+
+    /**
+     * Construieste toate structurile derivate din datele incarcate, este apelata
+     * ca parte din initializare
+     */
+    private void initIndexes() {
+        buildIndexes();
+        countViews();
+        movieCatalog = new VideoCatalog(movies, titleIds);
+        serialCatalog = new VideoCatalog(serials, titleIds);
+        allVideos = new ArrayList<>(movies);
+        allVideos.addAll(serials);
+        videosByRating = new VideoRanking(allVideos, Video::ratingsAverage, true);
+        genrePopularity = new GenrePopularity(allVideos, titleIds, videoViews);
+        indexGenreRatings();
+        for (User user : users) {
+            advanceFirstUnseen(user);
+        }
+        countFavorites();
+        videosByFavorites = new VideoRanking(allVideos,
+                video -> videoFavoriteEntries(video.getTitle()), false);
+        indexFilmographies();
+        indexDescriptions();
+        calcActorRatings();
+    }
+
+    /**
+     * Construieste indecsii dupa nume si titlu, este apelata ca parte din initializare
+     *
+     * La nume sau titluri duplicate se pastreaza prima aparitie, la fel ca in cazul
+     * cautarii liniare
+     */
+    private void buildIndexes() {
+        usersByName = new LinkedHashMap<>();
+        for (User user : users) {
+            usersByName.putIfAbsent(user.getUsername(), user);
+        }
+
+        moviesByTitle = new LinkedHashMap<>();
+        for (Movie movie : movies) {
+            moviesByTitle.putIfAbsent(movie.getTitle(), movie);
+        }
+
+        serialsByTitle = new LinkedHashMap<>();
+        for (Serial serial : serials) {
+            serialsByTitle.putIfAbsent(serial.getTitle(), serial);
+        }
+
+        videosByTitle = new LinkedHashMap<>(moviesByTitle);
+        for (Map.Entry<String, Serial> entry : serialsByTitle.entrySet()) {
+            videosByTitle.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+
+        titleIds = new TitleDictionary();
+        for (Movie movie : movies) {
+            titleIds.intern(movie.getTitle());
+        }
+        for (Serial serial : serials) {
+            titleIds.intern(serial.getTitle());
+        }
+    }
+
+    /**
+     * Calculeaza numarul de vizionari ale fiecarui videoclip din istoricul
+     * utilizatorilor, este apelata ca parte din initializare
+     */
+    private void countViews() {
+        for (User user : users) {
+            user.indexHistory(titleIds);
+        }
+
+        videoViews = new int[titleIds.size()];
+        for (User user : users) {
+            IntIntMap history = user.getHistory();
+            for (int i = 0; i < history.size(); i++) {
+                videoViews[history.keyAt(i)] += history.valueAt(i);
+            }
+        }
+    }
+
+    /**
+     * Construieste indexul de favorite pornind de la listele de favorite ale
+     * utilizatorilor, este apelata ca parte din initializare
+     */
+    private void countFavorites() {
+        videoFavorites = new int[titleIds.size()];
+        videoFavoriteEntries = new int[titleIds.size()];
+        for (User user : users) {
+            for (String title : user.getFavoriteVideos()) {
+                videoFavorites = increment(videoFavorites, titleIds.intern(title));
+            }
+            for (String title : user.getInputFavorites()) {
+                videoFavoriteEntries = increment(videoFavoriteEntries, titleIds.intern(title));
+            }
+        }
+    }
+
+    /**
+     * Creste cu 1 un contor dupa id-ul titlului, marind vectorul daca este nevoie
+     * @param counts Contoarele
+     * @param id Id-ul titlului
+     * @return Contoarele, in vectorul marit daca a fost nevoie
+     */
+    private static int[] increment(final int[] counts, final int id) {
+        int[] result = counts;
+        if (id >= result.length) {
+            result = Arrays.copyOf(result, Math.max(id + 1, result.length * 2));
+        }
+        result[id]++;
+        return result;
+    }
+
+    /**
+     * Construieste clasamentele dupa rating pentru fiecare gen, este apelata ca parte
+     * din initializare
+     *
+     * Ca in cazul cautarii dupa titlu, fiecare aparitie a unui titlu este reprezentata de
+     * videoclipul intors de getVideo, cu genurile si rating-ul lui. Videoclipurile sunt
+     * sortate stabil dupa titlu, iar clasamentul dupa opusul rating-ului, astfel ordinea
+     * este crescatoare dupa rating, apoi dupa titlu, apoi dupa ordinea din baza de date.
+     */
+    private void indexGenreRatings() {
+        List<Video> byTitle = new ArrayList<>();
+        for (Video video : allVideos) {
+            byTitle.add(getVideo(video.getTitle()));
+        }
+        byTitle.sort(new Comparator<Video>() {
+            @Override
+            public int compare(final Video o1, final Video o2) {
+                return o1.getTitle().compareTo(o2.getTitle());
+            }
+        });
+
+        Map<String, List<Video>> genreVideos = new HashMap<>();
+        for (Video video : byTitle) {
+            for (String genre : new LinkedHashSet<>(video.getGenres())) {
+                genreVideos.computeIfAbsent(genre, key -> new ArrayList<>()).add(video);
+            }
+        }
+
+        videosByGenreRating = new HashMap<>();
+        for (Map.Entry<String, List<Video>> entry : genreVideos.entrySet()) {
+            videosByGenreRating.put(entry.getKey(), new VideoRanking(entry.getValue(),
+                    video -> -video.ratingsAverage(), true));
+        }
+    }
+
+    /**
+     * Construieste indexul invers dintre videoclipuri si actori, este apelata ca
+     * parte din initializare
+     */
+    private void indexFilmographies() {
+        actorsByVideo = new HashMap<>();
+        for (Actor actor : actors) {
+            for (String title : actor.getFilmography()) {
+                List<Actor> cast = actorsByVideo.computeIfAbsent(title,
+                        key -> new ArrayList<>());
+                // Un titlu poate aparea de mai multe ori in filmografia unui actor
+                if (cast.isEmpty() || cast.get(cast.size() - 1) != actor) {
+                    cast.add(actor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Construieste indexul invers dintre cuvintele din descrieri si actori, este
+     * apelata ca parte din initializare
+     */
+    private void indexDescriptions() {
+        actorsByDescriptionWord = new HashMap<>();
+        for (Actor actor : actors) {
+            for (String word : actor.getDescriptionWords()) {
+                actorsByDescriptionWord.computeIfAbsent(word, key -> new ArrayList<>())
+                        .add(actor);
+            }
+        }
     }
 
     /**
@@ -107,53 +447,62 @@ public final class Repository {
      * ca parte din initializare
      * @param input Obiectul care contine datele citite din fisier
      */
-    private static void loadActions(final Input input) {
+    private void loadActions(final Input input) {
         actions = new ArrayList<>();
         for (ActionInputData actionInput : input.getCommands()) {
-            /*
-             *  In functie de tipul actiunii care se citeste se instantiaza un obiect din clasa
-             *  corespunzatoare acelui tip de actiune
-             */
-            switch (actionInput.getActionType()) {
-                case Constants.COMMAND:
-                    actions.add(new Command(actionInput));
-                    break;
-                case Constants.QUERY:
-                    switch (actionInput.getObjectType()) {
-                        case Constants.ACTORS:
-                            actions.add(new QueryActor(actionInput));
-                            break;
-                        case Constants.MOVIES:
-                            actions.add(new QueryMovie(actionInput));
-                            break;
-                        case Constants.SHOWS:
-                            actions.add(new QuerySerial(actionInput));
-                            break;
-                        case Constants.USERS:
-                            actions.add(new QueryUser(actionInput));
-                            break;
-                        default:
-                            break;
-                    }
-                    break;
-                case Constants.RECOMMENDATION:
-                    actions.add(new Recommendation(actionInput));
-                    break;
-                default:
-                    break;
+            Action action = createAction(actionInput);
+            if (action != null) {
+                actions.add(action);
             }
         }
     }
 
+    /**
+     * Creeaza actiunea corespunzatoare datelor citite din fisier
+     * @param actionInput Datele actiunii
+     * @return Actiunea, sau null daca tipul actiunii nu este cunoscut
+     */
+    public static Action createAction(final ActionInputData actionInput) {
+        /*
+         *  In functie de tipul actiunii care se citeste se instantiaza un obiect din clasa
+         *  corespunzatoare acelui tip de actiune
+         */
+        switch (actionInput.getActionType()) {
+            case Constants.COMMAND:
+                return new Command(actionInput);
+            case Constants.QUERY:
+                switch (actionInput.getObjectType()) {
+                    case Constants.ACTORS:
+                        return new QueryActor(actionInput);
+                    case Constants.MOVIES:
+                        return new QueryMovie(actionInput);
+                    case Constants.SHOWS:
+                        return new QuerySerial(actionInput);
+                    case Constants.USERS:
+                        return new QueryUser(actionInput);
+                    default:
+                        return null;
+                }
+            case Constants.RECOMMENDATION:
+                return new Recommendation(actionInput);
+            default:
+                return null;
+        }
+    }
+
     /**
      * Ruleaza toate actiunile
      * @return un array cu rezultatul fiecarei actiuni, in ordinea in care
      * acele actiuni au fost date de clasa de citire a actiunilor
+     * @throws IOException daca rularea actiunilor a fost intrerupta
      */
-    public List<String> runActions() {
+    public List<String> runActions() throws IOException {
         List<String> results = new ArrayList<>();
-        for (Action action : actions) {
-            results.add(action.runAction());
+        ActionScheduler scheduler = new ActionScheduler(actionThreads);
+        try {
+            scheduler.run(this, actions, (index, result) -> results.add(result));
+        } finally {
+            scheduler.close();
         }
 
         return results;
@@ -174,18 +523,29 @@ public final class Repository {
         }
     }
 
+    /**
+     * Ruleaza actiunile si scrie rezultatul fiecareia imediat ce s-a terminat, fara
+     * sa tina in memorie rezultatele celorlalte actiuni
+     * @param writer Writer-ul care scrie rezultatele in fisier
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public void runActionsToStream(final StreamingWriter writer) throws IOException {
+        ActionScheduler scheduler = new ActionScheduler(actionThreads);
+        try {
+            scheduler.run(this, actions,
+                    (index, result) -> writer.writeResult(index + 1, result));
+        } finally {
+            scheduler.close();
+        }
+    }
+
     /**
      * Intoarce un utilizator din baza de date
      * @param name Numele utilizatorului
      * @return Un obiect de tip utilizator cu numele specificat, null daca nu exista
      */
     public User getUser(final String name) {
-        for (User user : users) {
-            if (user.getUsername().equals(name)) {
-                return user;
-            }
-        }
-        return null;
+        return usersByName.get(name);
     }
 
     /**
@@ -194,12 +554,7 @@ public final class Repository {
      * @return Un obiect din clasa Movie care are titlul dat
      */
     public Movie getMovie(final String title) {
-        for (Movie movie : movies) {
-            if (movie.getTitle().equals(title)) {
-                return movie;
-            }
-        }
-        return null;
+        return moviesByTitle.get(title);
     }
 
     /**
@@ -208,12 +563,7 @@ public final class Repository {
      * @return Un obiect din clasa Serial care are titlul dat
      */
     public Serial getSerial(final String title) {
-        for (Serial serial : serials) {
-            if (serial.getTitle().equals(title)) {
-                return serial;
-            }
-        }
-        return null;
+        return serialsByTitle.get(title);
     }
 
     /**
@@ -225,10 +575,7 @@ public final class Repository {
      * daca nu exista
      */
     public Video getVideo(final String title) {
-        if (isMovie(title)) {
-            return getMovie(title);
-        }
-        return getSerial(title);
+        return videosByTitle.get(title);
     }
 
     /**
@@ -237,7 +584,7 @@ public final class Repository {
      * @return True daca titlul dat este un serial in baza de date, false altfel
      */
     public boolean isSerial(final String title) {
-        return getSerial(title) != null;
+        return serialsByTitle.containsKey(title);
     }
 
     /**
@@ -246,7 +593,7 @@ public final class Repository {
      * @return True daca titlul dat este un film in baza de date, false altfel
      */
     public boolean isMovie(final String title) {
-        return getMovie(title) != null;
+        return moviesByTitle.containsKey(title);
     }
 
     /**
@@ -289,19 +636,117 @@ public final class Repository {
         }
     }
 
+    /**
+     * Actualizeaza datele care depind de rating-ul unui videoclip, trebuie apelata de
+     * fiecare data cand se schimba rating-ul videoclipului
+     * @param video Videoclipul al carui rating s-a schimbat
+     */
+    public void updateVideoRating(final Video video) {
+        if (video instanceof Movie) {
+            movieCatalog.updateRating(video.getTitle());
+        } else {
+            serialCatalog.updateRating(video.getTitle());
+        }
+        videosByRating.update(video.getTitle());
+        Video searched = getVideo(video.getTitle());
+        for (String genre : new LinkedHashSet<>(searched.getGenres())) {
+            videosByGenreRating.get(genre).update(video.getTitle());
+        }
+        updateActorRatings(video.getTitle());
+    }
+
+    /**
+     * Recalculeaza rating-ul actorilor care au jucat intr-un videoclip
+     * @param title Titlul videoclipului al carui rating s-a schimbat
+     */
+    private void updateActorRatings(final String title) {
+        for (Actor actor : actorsByVideo.getOrDefault(title, Collections.emptyList())) {
+            calcActorRating(actor);
+        }
+    }
+
+    /**
+     * Intoarce actorii a caror descriere contine toate cuvintele date
+     *
+     * Se porneste de la cea mai scurta lista din indexul invers, iar ceilalti candidati
+     * sunt verificati direct pe cuvintele descrierii lor
+     * @param words Cuvintele cautate
+     * @return Actorii gasiti, in ordinea din baza de date
+     */
+    public List<Actor> getActorsWithDescriptionWords(final List<String> words) {
+        List<Actor> candidates = actors;
+        for (String word : words) {
+            if (!WordMatcher.isPlainWord(word)) {
+                continue;
+            }
+            List<Actor> posting = actorsByDescriptionWord.getOrDefault(word,
+                    Collections.emptyList());
+            if (posting.size() < candidates.size()) {
+                candidates = posting;
+            }
+        }
+
+        List<Actor> found = new ArrayList<>();
+        for (Actor actor : candidates) {
+            boolean hasAllWords = true;
+            for (String word : words) {
+                if (!actor.hasDescriptionWord(word)) {
+                    hasAllWords = false;
+                    break;
+                }
+            }
+            if (hasAllWords) {
+                found.add(actor);
+            }
+        }
+        return found;
+    }
+
     /**
      * Intoarce de cate ori apare un video in lista de favorite a utilizatorilor
      * @param title Titlul videoclipului pentru care se face calculul
      * @return De cate ori apare videoclipul in lista de favorite
      */
     public int videoTotalFavorites(final String title) {
-        int totalFavorites = 0;
-        for (User user : users) {
-            if (user.hasFavorite(title)) {
-                totalFavorites++;
-            }
+        return videoTotalFavorites(titleIds.find(title));
+    }
+
+    /**
+     * Intoarce de cate ori apare un video in lista de favorite a utilizatorilor
+     * @param titleId Id-ul titlului videoclipului, -1 pentru un titlu necunoscut
+     * @return De cate ori apare videoclipul in lista de favorite
+     */
+    public int videoTotalFavorites(final int titleId) {
+        if (titleId < 0 || titleId >= videoFavorites.length) {
+            return 0;
         }
-        return totalFavorites;
+        return videoFavorites[titleId];
+    }
+
+    /**
+     * Intoarce de cate ori apare un video in listele de favorite, numarand si titlurile
+     * care apar de mai multe ori in lista unui utilizator din fisierul de intrare
+     * @param title Titlul videoclipului
+     * @return Numarul de aparitii in listele de favorite
+     */
+    private int videoFavoriteEntries(final String title) {
+        int id = titleIds.find(title);
+        if (id < 0 || id >= videoFavoriteEntries.length) {
+            return 0;
+        }
+        return videoFavoriteEntries[id];
+    }
+
+    /**
+     * Inregistreaza adaugarea unui videoclip in lista de favorite a unui utilizator,
+     * dupa ce utilizatorul l-a adaugat cu succes
+     * @param title Titlul videoclipului
+     */
+    public void addFavorite(final String title) {
+        int id = titleIds.intern(title);
+        videoFavorites = increment(videoFavorites, id);
+        videoFavoriteEntries = increment(videoFavoriteEntries, id);
+        videosByFavorites.update(title);
     }
 
     /**
@@ -310,12 +755,61 @@ public final class Repository {
      * @return Numarul de vizionari a acelui videoclip
      */
     public int videoTotalViews(final String title) {
-        int totalViews = 0;
-        for (User user : users) {
-            if (user.getHistory().containsKey(title)) {
-                totalViews += user.getHistory().get(title);
-            }
+        return videoTotalViews(titleIds.find(title));
+    }
+
+    /**
+     * Intoarce de cate ori a fost vizualizat un videoclip
+     * @param titleId Id-ul titlului videoclipului, -1 pentru un titlu necunoscut
+     * @return Numarul de vizionari a acelui videoclip
+     */
+    public int videoTotalViews(final int titleId) {
+        if (titleId < 0 || titleId >= videoViews.length) {
+            return 0;
+        }
+        return videoViews[titleId];
+    }
+
+    /**
+     * Muta pozitia primului videoclip nevizionat al utilizatorului peste videoclipurile
+     * pe care le-a vizionat; este apelata la initializare si dupa fiecare vizionare
+     *
+     * Vizionarile nu se pot anula, deci pozitia doar creste, iar o vizionare a altui
+     * titlu decat cel de la pozitia curenta nu o muta
+     *
+     * @param user Utilizatorul
+     */
+    public void advanceFirstUnseen(final User user) {
+        int position = user.getFirstUnseen();
+        while (position < allVideos.size()
+                && user.hasViewed(allVideos.get(position).getTitle())) {
+            position++;
+        }
+        user.setFirstUnseen(position);
+    }
+
+    /**
+     * Intoarce primul videoclip, in ordinea din baza de date, nevizionat de utilizator
+     * @param user Utilizatorul
+     * @return Videoclipul, sau null daca utilizatorul a vizionat toate videoclipurile
+     */
+    public Video getFirstUnseen(final User user) {
+        if (user.getFirstUnseen() >= allVideos.size()) {
+            return null;
+        }
+        return allVideos.get(user.getFirstUnseen());
+    }
+
+    /**
+     * Inregistreaza o vizionare noua a unui videoclip
+     * @param title Titlul videoclipului care a fost vizionat
+     */
+    public void addView(final String title) {
+        int id = titleIds.intern(title);
+        if (id >= videoViews.length) {
+            videoViews = Arrays.copyOf(videoViews, Math.max(id + 1, videoViews.length * 2));
         }
-        return totalViews;
+        videoViews[id]++;
+        genrePopularity.addView(id);
     }
 }
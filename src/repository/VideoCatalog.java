@@ -0,0 +1,247 @@
+package repository;
+
+import entertainment.GenreMask;
+import entertainment.Video;
+import utils.TitleDictionary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalogul filmelor sau al serialelor, pe coloane
+ *
+ * Campurile folosite de query-uri sunt copiate la initializare in vectori de tipuri
+ * primitive, cate o pozitie pentru fiecare videoclip, in ordinea din baza de date:
+ * anul, durata totala, masca genurilor, rating-ul si id-ul titlului (pentru vizionari si
+ * favorite). Filtrarea si sortarea parcurg acesti vectori in locul obiectelor Video.
+ * Anul, durata si genurile nu se schimba; rating-ul este actualizat de baza de date
+ * la fiecare comanda de rating reusita.
+ *
+ * Tot pentru ca durata nu se schimba, pozitiile sunt sortate o singura data dupa durata
+ * (si titlu la egalitate), iar query-ul longest parcurge direct aceasta ordine.
+ *
+ * Pentru filtrele de an si gen, catalogul tine si indecsi secundari: pozitiile
+ * videoclipurilor din fiecare an, din fiecare gen si din fiecare pereche (an, gen), in
+ * ordinea din baza de date. Genurile sunt indexate dupa denumirea exacta din lista
+ * videoclipului, deci rezultatul este acelasi ca la genres.contains(genre) si pentru
+ * genurile care nu exista in enum.
+ */
+public final class VideoCatalog {
+    private final Video[] videos;
+    private final int[] titleIds;
+    private final int[] years;
+    private final int[] durations;
+    private final long[] genres;
+    private final double[] ratings;
+    /**
+     * Pozitiile fiecarui titlu, un titlu poate aparea de mai multe ori in catalog
+     */
+    private final Map<String, int[]> positions;
+    private final int[] allPositions;
+    private final Map<Integer, int[]> byYear;
+    private final Map<String, int[]> byGenre;
+    private final Map<Integer, Map<String, int[]>> byYearAndGenre;
+    /**
+     * Pozitiile videoclipurilor in ordinea crescatoare a duratei, la durate egale in
+     * ordinea titlurilor, iar la titluri egale in ordinea din baza de date
+     */
+    private final int[] byDuration;
+
+    /**
+     * Construieste catalogul
+     * @param list Videoclipurile, in ordinea din baza de date
+     * @param titleIdsDictionary Dictionarul de titluri al bazei de date
+     */
+    public VideoCatalog(final List<? extends Video> list,
+                        final TitleDictionary titleIdsDictionary) {
+        int size = list.size();
+        videos = list.toArray(new Video[0]);
+        titleIds = new int[size];
+        years = new int[size];
+        durations = new int[size];
+        genres = new long[size];
+        ratings = new double[size];
+        allPositions = new int[size];
+
+        Map<String, List<Integer>> titleLists = new HashMap<>();
+        Map<Integer, List<Integer>> yearLists = new HashMap<>();
+        Map<String, List<Integer>> genreLists = new HashMap<>();
+        Map<Integer, Map<String, List<Integer>>> yearGenreLists = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            Video video = videos[i];
+            titleIds[i] = titleIdsDictionary.intern(video.getTitle());
+            years[i] = video.getYear();
+            durations[i] = video.totalDuration();
+            genres[i] = video.getGenreMask();
+            ratings[i] = video.ratingsAverage();
+            titleLists.computeIfAbsent(video.getTitle(), k -> new ArrayList<>()).add(i);
+            allPositions[i] = i;
+
+            addPosition(yearLists.computeIfAbsent(video.getYear(), k -> new ArrayList<>()), i);
+            Map<String, List<Integer>> yearGenres =
+                    yearGenreLists.computeIfAbsent(video.getYear(), k -> new HashMap<>());
+            for (String videoGenre : video.getGenres()) {
+                addPosition(genreLists.computeIfAbsent(videoGenre, k -> new ArrayList<>()), i);
+                addPosition(yearGenres.computeIfAbsent(videoGenre, k -> new ArrayList<>()), i);
+            }
+        }
+
+        positions = toPostings(titleLists);
+        byYear = toPostings(yearLists);
+        byGenre = toPostings(genreLists);
+        byYearAndGenre = new HashMap<>();
+        for (Map.Entry<Integer, Map<String, List<Integer>>> entry : yearGenreLists.entrySet()) {
+            byYearAndGenre.put(entry.getKey(), toPostings(entry.getValue()));
+        }
+
+        List<Integer> sorted = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sorted.add(i);
+        }
+        // Sortarea este stabila, deci la titluri egale se pastreaza ordinea din baza de date
+        sorted.sort(new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer o1, final Integer o2) {
+                int diff = durations[o1] - durations[o2];
+                if (diff == 0) {
+                    return getTitle(o1).compareTo(getTitle(o2));
+                }
+                return diff;
+            }
+        });
+        byDuration = sorted.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Adauga o pozitie la sfarsitul unei liste de pozitii, o singura data, chiar daca
+     * videoclipul are acelasi gen de mai multe ori
+     */
+    private static void addPosition(final List<Integer> list, final int index) {
+        if (list.isEmpty() || list.get(list.size() - 1) != index) {
+            list.add(index);
+        }
+    }
+
+    /**
+     * Transforma listele de pozitii in vectori de int
+     */
+    private static <K> Map<K, int[]> toPostings(final Map<K, List<Integer>> lists) {
+        Map<K, int[]> postings = new HashMap<>();
+        for (Map.Entry<K, List<Integer>> entry : lists.entrySet()) {
+            postings.put(entry.getKey(),
+                    entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return postings;
+    }
+
+    public int size() {
+        return videos.length;
+    }
+
+    /**
+     * @param index Pozitia videoclipului
+     * @return Videoclipul
+     */
+    public Video getVideo(final int index) {
+        return videos[index];
+    }
+
+    /**
+     * @param index Pozitia videoclipului
+     * @return Titlul videoclipului
+     */
+    public String getTitle(final int index) {
+        return videos[index].getTitle();
+    }
+
+    /**
+     * @param index Pozitia videoclipului
+     * @return Id-ul titlului in dictionarul bazei de date
+     */
+    public int getTitleId(final int index) {
+        return titleIds[index];
+    }
+
+    /**
+     * @param index Pozitia videoclipului
+     * @return Durata totala a videoclipului
+     */
+    public int getDuration(final int index) {
+        return durations[index];
+    }
+
+    /**
+     * @param index Pozitia videoclipului
+     * @return Rating-ul videoclipului
+     */
+    public double getRating(final int index) {
+        return ratings[index];
+    }
+
+    /**
+     * Intoarce pozitiile videoclipurilor care au anul si genul date
+     *
+     * Se foloseste cel mai mic index care acopera filtrele date: perechea (an, gen) cand
+     * sunt date amandoua, altfel indexul anului sau al genului, iar fara filtre tot
+     * catalogul. Vectorul intors este chiar cel din index si nu trebuie modificat.
+     *
+     * @param year Anul cerut, 0 pentru orice an
+     * @param genre Genul cerut, null pentru orice gen
+     * @return Pozitiile videoclipurilor, in ordinea din baza de date
+     */
+    public int[] select(final int year, final String genre) {
+        final int[] none = {};
+        if (year > 0 && genre != null) {
+            Map<String, int[]> yearGenres = byYearAndGenre.get(year);
+            return yearGenres == null ? none : yearGenres.getOrDefault(genre, none);
+        }
+        if (year > 0) {
+            return byYear.getOrDefault(year, none);
+        }
+        if (genre != null) {
+            return byGenre.getOrDefault(genre, none);
+        }
+        return allPositions;
+    }
+
+    /**
+     * Pozitia videoclipului de pe un loc din ordinea dupa durata
+     * @param rank Locul in ordinea crescatoare a duratei, intre 0 si size() - 1
+     * @return Pozitia videoclipului in catalog
+     */
+    public int getByDuration(final int rank) {
+        return byDuration[rank];
+    }
+
+    /**
+     * Verifica daca un videoclip trece de filtrele de an si gen
+     * @param index Pozitia videoclipului
+     * @param year Anul cerut, 0 pentru orice an
+     * @param genre Genul cerut, null pentru orice gen
+     * @param genreBit Bitul genului cerut, calculat o singura data cu GenreMask.bit(genre)
+     * @return True daca videoclipul are anul si genul cerute
+     */
+    public boolean matches(final int index, final int year, final String genre,
+                           final long genreBit) {
+        if (year > 0 && years[index] != year) {
+            return false;
+        }
+        return genre == null
+                || GenreMask.contains(genres[index], videos[index].getGenres(), genre, genreBit);
+    }
+
+    /**
+     * Actualizeaza rating-ul videoclipurilor cu un titlu dupa o comanda de rating; toate
+     * pozitiile titlului sunt recitite din videoclipurile lor
+     * @param title Titlul videoclipului
+     */
+    void updateRating(final String title) {
+        for (int index : positions.getOrDefault(title, new int[0])) {
+            ratings[index] = videos[index].ratingsAverage();
+        }
+    }
+}
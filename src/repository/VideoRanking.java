@@ -0,0 +1,113 @@
+package repository;
+
+import entertainment.Video;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Videoclipurile bazei de date (filmele, apoi serialele) in ordinea descrescatoare a unei
+ * valori, de exemplu rating-ul sau numarul de favorite, iar la valori egale in ordinea
+ * listei primite, de obicei ordinea din baza de date
+ *
+ * Ordinea este tinuta intr-un arbore de pozitii, care se actualizeaza doar pentru
+ * videoclipurile a caror valoare s-a schimbat. Valoarea dupa care este asezata fiecare
+ * pozitie in arbore este copiata separat, pentru ca pozitia sa poata fi scoasa din arbore
+ * dupa ce videoclipul si-a schimbat valoarea.
+ */
+public final class VideoRanking {
+    private final Video[] videos;
+    private final ToDoubleFunction<Video> value;
+    /**
+     * Daca este false, videoclipurile cu valoarea 0 nu fac parte din clasament
+     */
+    private final boolean keepZero;
+    private final double[] values;
+    private final TreeSet<Integer> order;
+    /**
+     * Pozitiile fiecarui titlu, un titlu poate aparea de mai multe ori in baza de date
+     */
+    private final Map<String, List<Integer>> positions;
+
+    /**
+     * Construieste clasamentul
+     * @param list Videoclipurile, in ordinea din baza de date
+     * @param value Valoarea dupa care se ordoneaza videoclipurile
+     * @param keepZero False daca videoclipurile cu valoarea 0 nu intra in clasament
+     */
+    VideoRanking(final List<Video> list, final ToDoubleFunction<Video> value,
+                 final boolean keepZero) {
+        videos = list.toArray(new Video[0]);
+        this.value = value;
+        this.keepZero = keepZero;
+        values = new double[videos.length];
+        positions = new HashMap<>();
+        order = new TreeSet<>(new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer o1, final Integer o2) {
+                int diff = Double.compare(values[o2], values[o1]);
+                if (diff == 0) {
+                    return Integer.compare(o1, o2);
+                }
+                return diff;
+            }
+        });
+
+        for (int i = 0; i < videos.length; i++) {
+            positions.computeIfAbsent(videos[i].getTitle(), key -> new ArrayList<>()).add(i);
+            values[i] = value.applyAsDouble(videos[i]);
+            if (keepZero || values[i] != 0) {
+                order.add(i);
+            }
+        }
+    }
+
+    /**
+     * Muta videoclipurile cu titlul dat la locul corespunzator noii lor valori
+     * @param title Titlul videoclipului a carui valoare s-a schimbat
+     */
+    void update(final String title) {
+        for (int position : positions.getOrDefault(title, new ArrayList<>())) {
+            order.remove(position);
+            values[position] = value.applyAsDouble(videos[position]);
+            if (keepZero || values[position] != 0) {
+                order.add(position);
+            }
+        }
+    }
+
+    /**
+     * Intoarce primul videoclip din clasament care indeplineste o conditie
+     * @param condition Conditia
+     * @return Videoclipul, sau null daca niciun videoclip nu indeplineste conditia
+     */
+    public Video first(final Predicate<Video> condition) {
+        for (int position : order) {
+            if (condition.test(videos[position])) {
+                return videos[position];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Intoarce toate videoclipurile din clasament care indeplinesc o conditie
+     * @param condition Conditia
+     * @return Videoclipurile, in ordinea din clasament
+     */
+    public List<Video> filter(final Predicate<Video> condition) {
+        List<Video> selected = new ArrayList<>();
+        for (int position : order) {
+            if (condition.test(videos[position])) {
+                selected.add(videos[position]);
+            }
+        }
+        return selected;
+    }
+}
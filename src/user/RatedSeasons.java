@@ -0,0 +1,48 @@
+package user;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Sezoanele unui serial carora un utilizator le-a dat rating
+ *
+ * Sezoanele 1 - 64 sunt tinute intr-o masca de biti; alte numere de sezon, care pot
+ * aparea in comenzi gresite, sunt tinute separat, intr-o multime creata doar la nevoie.
+ */
+final class RatedSeasons {
+    private long mask;
+    private Set<Integer> otherSeasons;
+
+    /**
+     * Verifica daca sezonul a primit rating
+     * @param season Numarul sezonului
+     * @return True daca sezonul a primit rating
+     */
+    boolean contains(final int season) {
+        if (season >= 1 && season <= Long.SIZE) {
+            return (mask & bit(season)) != 0;
+        }
+        return otherSeasons != null && otherSeasons.contains(season);
+    }
+
+    /**
+     * Marcheaza sezonul ca avand rating
+     * @param season Numarul sezonului
+     * @return True daca sezonul nu avea deja rating
+     */
+    boolean add(final int season) {
+        if (season >= 1 && season <= Long.SIZE) {
+            long previous = mask;
+            mask |= bit(season);
+            return mask != previous;
+        }
+        if (otherSeasons == null) {
+            otherSeasons = new HashSet<>();
+        }
+        return otherSeasons.add(season);
+    }
+
+    private static long bit(final int season) {
+        return 1L << (season - 1);
+    }
+}
@@ -1,11 +1,16 @@
 package user;
 
 import fileio.UserInputData;
+import utils.IntIntMap;
+import utils.TitleDictionary;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.Set;
 
 /**
  * Clasa care defineste un utilizator
@@ -14,33 +19,56 @@ public final class User {
     private final String username;
     private final String type;
     /**
-     * Hashmap cu toate videoclipurile pe care le-a vizionat utilizatorul, fiecare
-     * asociat cu numarul de vizionari
+     * Istoricul citit din fisierul de intrare, pastrat doar pana la indexHistory
      */
-    private final Map<String, Integer> history;
+    private Map<String, Integer> inputHistory;
     /**
-     * Lista de videoclipuri favorite a utilizatorului
+     * Dictionarul de titluri al bazei de date din care face parte utilizatorul
      */
-    private final List<String> favoriteVideos;
+    private TitleDictionary titles;
+    /**
+     * Toate videoclipurile pe care le-a vizionat utilizatorul, dupa id-ul titlului,
+     * fiecare asociat cu numarul de vizionari
+     */
+    private IntIntMap history;
+    /**
+     * Videoclipurile favorite ale utilizatorului, in ordinea in care au fost adaugate
+     */
+    private final Set<String> favoriteVideos;
+    /**
+     * Lista de favorite din fisierul de intrare, in care un titlu poate aparea de mai
+     * multe ori
+     */
+    private final List<String> inputFavorites;
 
     /**
-     * Fiecare utilizator are un hashmap pentru serialele vazute, pentru
-     * a se putea sti ce sezoane a vazut
+     * Fiecare utilizator are un hashmap pentru serialele carora le-a dat rating, pentru
+     * a se putea sti ce sezoane au primit rating
+     */
+    private final Map<String, RatedSeasons> ratedSerials;
+    /**
+     * Utilizatorul mai are si o multime cu filmele carora le-a dat rating
+     */
+    private final Set<String> ratedMovies;
+    /**
+     * Numarul total de rating-uri date, filme si sezoane de seriale
      */
-    private final Map<String, List<Integer>> ratedSerials;
+    private int totalRatings;
     /**
-     * Utilizatorul mai are si o lista cu filmele vazute
+     * Pozitia primului videoclip nevizionat in ordinea din baza de date (filmele, apoi
+     * serialele), tinuta la zi de baza de date pentru recomandarea standard
      */
-    private final List<String> ratedMovies;
+    private int firstUnseen;
 
     public User(final UserInputData userInput) {
         ratedSerials = new HashMap<>();
-        ratedMovies = new ArrayList<>();
+        ratedMovies = new HashSet<>();
 
         username = userInput.getUsername();
         type = userInput.getSubscriptionType();
-        history = userInput.getHistory();
-        favoriteVideos = userInput.getFavoriteMovies();
+        inputHistory = userInput.getHistory();
+        inputFavorites = userInput.getFavoriteMovies();
+        favoriteVideos = new LinkedHashSet<>(inputFavorites);
     }
 
     public String getUsername() {
@@ -51,12 +79,43 @@ public final class User {
         return type;
     }
 
-    public Map<String, Integer> getHistory() {
+    public int getFirstUnseen() {
+        return firstUnseen;
+    }
+
+    public void setFirstUnseen(final int firstUnseen) {
+        this.firstUnseen = firstUnseen;
+    }
+
+    /**
+     * Numarul de vizionari ale fiecarui videoclip vazut, dupa id-ul din dictionarul de
+     * titluri; nu trebuie modificat
+     * @return Istoricul utilizatorului
+     */
+    public IntIntMap getHistory() {
         return history;
     }
 
-    public List<String> getFavoriteVideos() {
-        return favoriteVideos;
+    /**
+     * Muta istoricul citit din fisier in dictionarul cu id-uri numerice, este apelata de
+     * baza de date la initializare, inaintea oricarei alte operatii asupra istoricului
+     * @param dictionary Dictionarul de titluri al bazei de date
+     */
+    public void indexHistory(final TitleDictionary dictionary) {
+        titles = dictionary;
+        history = new IntIntMap(inputHistory.size());
+        for (Map.Entry<String, Integer> entry : inputHistory.entrySet()) {
+            history.put(titles.intern(entry.getKey()), entry.getValue());
+        }
+        inputHistory = null;
+    }
+
+    public Set<String> getFavoriteVideos() {
+        return Collections.unmodifiableSet(favoriteVideos);
+    }
+
+    public List<String> getInputFavorites() {
+        return Collections.unmodifiableList(inputFavorites);
     }
 
     /**
@@ -77,7 +136,7 @@ public final class User {
         if (hasFavorite(title)) {
             return false;
         }
-        if (history.containsKey(title)) {
+        if (hasViewed(title)) {
             favoriteVideos.add(title);
             return true;
         }
@@ -90,7 +149,8 @@ public final class User {
      * @return True daca videoclipul a fost vizionat de catre utilizator
      */
     public boolean hasViewed(final String title) {
-        return history.containsKey(title);
+        int id = titles.find(title);
+        return id >= 0 && history.containsKey(id);
     }
 
     /**
@@ -99,12 +159,7 @@ public final class User {
      * @return Numarul de vizionari ale videoclipului de catre utilizator
      */
     public int view(final String title) {
-        if (history.containsKey(title)) {
-            history.replace(title, history.get(title) + 1);
-        } else {
-            history.put(title, 1);
-        }
-        return history.get(title);
+        return history.addTo(titles.intern(title), 1);
     }
 
     /**
@@ -123,11 +178,8 @@ public final class User {
      * @return True daca a dat rate acelui sezon, false altfel
      */
     public boolean hasRatedSerialSeason(final String title, final int seasonNumber) {
-        if (ratedSerials.containsKey(title)) {
-            List<Integer> ratedSeasons = ratedSerials.get(title);
-            return ratedSeasons.contains(seasonNumber);
-        }
-        return false;
+        RatedSeasons ratedSeasons = ratedSerials.get(title);
+        return ratedSeasons != null && ratedSeasons.contains(seasonNumber);
     }
 
     /**
@@ -141,20 +193,11 @@ public final class User {
         if (!hasViewed(title)) {
             return false;
         }
-        if (!ratedSerials.containsKey(title)) {
-            // Daca acel utilizatorul nu a mai dat rating-uri acelui serial
-            ArrayList<Integer> list = new ArrayList<>();
-            list.add(seasonNumber);
-            ratedSerials.put(title, list);
-        } else {
-            // Daca utilizatorul a mai dat rating-uri unor sezoane a acelui serial
-            List<Integer> ratedSeasons = ratedSerials.get(title);
-            if (ratedSeasons.contains(seasonNumber)) {
-                // Utilizatorul a dat deja rate a celui sezon
-                return false;
-            }
-            ratedSeasons.add(seasonNumber);
+        if (!ratedSerials.computeIfAbsent(title, key -> new RatedSeasons()).add(seasonNumber)) {
+            // Utilizatorul a dat deja rate a celui sezon
+            return false;
         }
+        totalRatings++;
         return true;
     }
 
@@ -168,23 +211,18 @@ public final class User {
         if (!hasViewed(title)) {
             return false;
         }
-        if (ratedMovies.contains(title)) {
+        if (!ratedMovies.add(title)) {
             return false;
         }
-        ratedMovies.add(title);
+        totalRatings++;
         return true;
     }
 
     /**
-     * Calculeaza media rating-urilor pe care le-a dat utilizatorul
-     * @return Media rating-urilor pe care le-a dat utilizatorul
+     * Intoarce numarul de rating-uri pe care le-a dat utilizatorul
+     * @return Numarul de rating-uri date filmelor si sezoanelor de seriale
      */
     public int getTotalRatings() {
-        int totalRatings = 0;
-        for (Map.Entry<String, List<Integer>> entry : ratedSerials.entrySet()) {
-            totalRatings += entry.getValue().size();
-        }
-        totalRatings += ratedMovies.size();
         return totalRatings;
     }
 }
@@ -0,0 +1,162 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Dictionar de la int la int, fara obiecte Integer, cu adresare deschisa
+ *
+ * Perechile sunt tinute in doi vectori, in ordinea in care au fost adaugate, iar tabela de
+ * dispersie retine doar pozitia fiecarei chei in acesti vectori. Cheile trebuie sa fie
+ * nenegative, iar perechile nu pot fi sterse. Operatiile nu aloca memorie, cu exceptia
+ * redimensionarii tabelei.
+ */
+public final class IntIntMap {
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    /**
+     * Pozitia + 1 a fiecarei chei in vectorii de perechi, 0 pentru o intrare libera;
+     * dimensiunea este o putere a lui 2 si cel putin dublul numarului de perechi
+     */
+    private int[] table;
+
+    public IntIntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize Numarul de perechi pentru care se rezerva loc
+     */
+    public IntIntMap(final int expectedSize) {
+        int capacity = Math.max(expectedSize, DEFAULT_CAPACITY);
+        keys = new int[capacity];
+        values = new int[capacity];
+        table = new int[Integer.highestOneBit(capacity * 2 - 1) * 2];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Cheia de pe o pozitie, in ordinea adaugarii
+     * @param index Pozitia, intre 0 si size() - 1
+     * @return Cheia
+     */
+    public int keyAt(final int index) {
+        return keys[index];
+    }
+
+    /**
+     * Valoarea de pe o pozitie, in ordinea adaugarii
+     * @param index Pozitia, intre 0 si size() - 1
+     * @return Valoarea
+     */
+    public int valueAt(final int index) {
+        return values[index];
+    }
+
+    /**
+     * Verifica daca dictionarul contine cheia
+     * @param key Cheia
+     * @return True daca cheia exista
+     */
+    public boolean containsKey(final int key) {
+        return table[slot(key)] != 0;
+    }
+
+    /**
+     * Intoarce valoarea asociata cheii
+     * @param key Cheia
+     * @param defaultValue Valoarea intoarsa daca cheia nu exista
+     * @return Valoarea asociata cheii sau defaultValue
+     */
+    public int getOrDefault(final int key, final int defaultValue) {
+        int index = table[slot(key)];
+        if (index == 0) {
+            return defaultValue;
+        }
+        return values[index - 1];
+    }
+
+    /**
+     * Asociaza o valoare unei chei, inlocuind valoarea veche
+     * @param key Cheia, nenegativa
+     * @param value Valoarea
+     */
+    public void put(final int key, final int value) {
+        int slot = slot(key);
+        if (table[slot] != 0) {
+            values[table[slot] - 1] = value;
+            return;
+        }
+        insert(slot, key, value);
+    }
+
+    /**
+     * Aduna o valoare la cea asociata cheii, o cheie care nu exista are valoarea 0
+     * @param key Cheia, nenegativa
+     * @param delta Valoarea adunata
+     * @return Noua valoare asociata cheii
+     */
+    public int addTo(final int key, final int delta) {
+        int slot = slot(key);
+        if (table[slot] != 0) {
+            values[table[slot] - 1] += delta;
+            return values[table[slot] - 1];
+        }
+        insert(slot, key, delta);
+        return delta;
+    }
+
+    /**
+     * Pozitia din tabela la care se afla cheia sau, daca nu exista, intrarea libera in
+     * care ar trebui adaugata
+     */
+    private int slot(final int key) {
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while (table[slot] != 0 && keys[table[slot] - 1] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(final int slot, final int key, final int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        table[slot] = size;
+
+        if (size * 2 > table.length) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = mix(keys[i]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Amesteca bitii cheii, pentru ca id-urile consecutive sa nu ocupe intrari consecutive
+     */
+    private static int mix(final int key) {
+        final int golden = 0x9E3779B9;
+        int hash = key * golden;
+        return hash ^ (hash >>> (Integer.SIZE / 2));
+    }
+}
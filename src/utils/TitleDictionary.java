@@ -0,0 +1,58 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asociaza fiecarui titlu de videoclip un id numeric, de la 0 in ordinea adaugarii
+ *
+ * Titlurile sunt adaugate doar la initializarea bazei de date si de comenzi, cautarea
+ * unui titlu (find) nu modifica dictionarul si poate rula in paralel cu alte cautari.
+ */
+public final class TitleDictionary {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> titles = new ArrayList<>();
+
+    /**
+     * Intoarce id-ul titlului, adaugandu-l daca nu exista
+     * @param title Titlul
+     * @return Id-ul titlului
+     */
+    public int intern(final String title) {
+        Integer id = ids.get(title);
+        if (id != null) {
+            return id;
+        }
+        ids.put(title, titles.size());
+        titles.add(title);
+        return titles.size() - 1;
+    }
+
+    /**
+     * Intoarce id-ul unui titlu fara sa il adauge
+     * @param title Titlul
+     * @return Id-ul titlului, sau -1 daca titlul nu exista
+     */
+    public int find(final String title) {
+        Integer id = ids.get(title);
+        if (id == null) {
+            return -1;
+        }
+        return id;
+    }
+
+    /**
+     * Titlul cu id-ul dat
+     * @param id Id-ul
+     * @return Titlul
+     */
+    public String title(final int id) {
+        return titles.get(id);
+    }
+
+    public int size() {
+        return titles.size();
+    }
+}